@@ -0,0 +1,123 @@
+/*
+ * Copyright 2023 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.networking.api;
+
+import org.jetbrains.annotations.ApiStatus;
+
+import net.minecraft.util.Identifier;
+
+/**
+ * Represents the statistics of the custom payloads sent and received on a channel since they were last reset.
+ * <p>
+ * Payload sizes do not include the channel identifier nor the packet header.
+ *
+ * @see NetworkStatistics
+ */
+@ApiStatus.NonExtendable
+public interface ChannelStatistics {
+	/**
+	 * The number of buckets of the {@linkplain #getHandlerLatencyHistogram() handler latency histogram}.
+	 */
+	int LATENCY_BUCKETS = 40;
+
+	/**
+	 * {@return the channel these statistics are about}
+	 */
+	Identifier getChannel();
+
+	/**
+	 * {@return the number of packets received on this channel}
+	 */
+	long getInboundPackets();
+
+	/**
+	 * {@return the total size of the payloads received on this channel, in bytes}
+	 */
+	long getInboundBytes();
+
+	/**
+	 * {@return the number of packets sent on this channel}
+	 */
+	long getOutboundPackets();
+
+	/**
+	 * {@return the total size of the payloads sent on this channel, in bytes}
+	 */
+	long getOutboundBytes();
+
+	/**
+	 * Gets the total size of the packets of this channel as written to connections, after compression.
+	 * <p>
+	 * This is only known for the packets encoded by this library, such as the ones sent with
+	 * {@link ServerPlayNetworking#broadcast(java.util.Collection, Identifier, net.minecraft.network.PacketByteBuf)},
+	 * other packets being compressed later on by the connection.
+	 *
+	 * @return the total encoded size of the packets sent on this channel, in bytes
+	 */
+	long getOutboundEncodedBytes();
+
+	/**
+	 * {@return the total time spent in the handlers of this channel, in nanoseconds}
+	 */
+	long getHandlerTime();
+
+	/**
+	 * Gets the histogram of the time spent handling each packet of this channel.
+	 * <p>
+	 * The bucket at index {@code i} counts the packets handled in more than {@code 2^(i-1)} and up to {@code 2^i} nanoseconds,
+	 * except for the last bucket which counts every longer handling.
+	 *
+	 * @return a copy of the latency histogram, with {@value #LATENCY_BUCKETS} buckets
+	 */
+	long[] getHandlerLatencyHistogram();
+
+	/**
+	 * Estimates a percentile of the time spent handling each packet of this channel from the {@linkplain #getHandlerLatencyHistogram() latency histogram}.
+	 *
+	 * @param percentile the percentile, between {@code 0} and {@code 1}
+	 * @return the upper bound of the histogram bucket containing the percentile, in nanoseconds, or {@code 0} if no packet was handled
+	 */
+	default long getHandlerLatencyPercentile(double percentile) {
+		if (percentile < 0 || percentile > 1) {
+			throw new IllegalArgumentException("The percentile must be between 0 and 1, got " + percentile);
+		}
+
+		long[] histogram = this.getHandlerLatencyHistogram();
+		long total = 0;
+
+		for (long count : histogram) {
+			total += count;
+		}
+
+		if (total == 0) {
+			return 0;
+		}
+
+		long target = Math.max(1, (long) Math.ceil(total * percentile));
+		long seen = 0;
+
+		for (int i = 0; i < histogram.length; i++) {
+			seen += histogram[i];
+
+			if (seen >= target) {
+				return 1L << i;
+			}
+		}
+
+		return 1L << (histogram.length - 1);
+	}
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2023 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.networking.api;
+
+import java.util.Collection;
+import java.util.Objects;
+
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.util.Identifier;
+
+import org.quiltmc.qsl.networking.impl.NetworkStatisticsImpl;
+
+/**
+ * Provides per-channel statistics of the custom payloads sent and received by this game instance,
+ * to find out which channels use the most bandwidth or handling time.
+ * <p>
+ * The statistics are only recorded if the {@code quilt.networking.statistics} system property is set to {@code true},
+ * in which case they can also be queried in game with the {@code /quilt_network_stats} command.
+ * Both sides of a singleplayer game share the same statistics.
+ */
+public final class NetworkStatistics {
+	/**
+	 * {@return {@code true} if network statistics are recorded, or {@code false} otherwise}
+	 */
+	public static boolean isEnabled() {
+		return NetworkStatisticsImpl.ENABLED;
+	}
+
+	/**
+	 * Gets the channels which have recorded statistics.
+	 * <p>
+	 * The returned collection is an unmodifiable view.
+	 *
+	 * @return the channels with statistics
+	 */
+	public static Collection<Identifier> getChannels() {
+		return NetworkStatisticsImpl.getChannels();
+	}
+
+	/**
+	 * Gets the statistics of a channel.
+	 * <p>
+	 * The returned statistics keep being updated until they are {@linkplain #reset() reset}.
+	 *
+	 * @param channel the channel
+	 * @return the statistics of the channel, or {@code null} if nothing was recorded on the channel
+	 */
+	public static @Nullable ChannelStatistics get(Identifier channel) {
+		Objects.requireNonNull(channel, "Channel cannot be null");
+
+		return NetworkStatisticsImpl.get(channel);
+	}
+
+	/**
+	 * Discards every recorded statistic.
+	 */
+	public static void reset() {
+		NetworkStatisticsImpl.reset();
+	}
+
+	private NetworkStatistics() {
+	}
+}
@@ -16,16 +16,17 @@
 
 package org.quiltmc.qsl.networking.api;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 import net.minecraft.block.entity.BlockEntity;
 import net.minecraft.entity.Entity;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.network.ServerPlayerEntity;
-import net.minecraft.server.world.EntityTrackingListener;
 import net.minecraft.server.world.ServerChunkManager;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.server.world.ThreadedChunkManager;
@@ -35,6 +36,7 @@
 import net.minecraft.util.math.Vec3i;
 import net.minecraft.world.chunk.ChunkManager;
 
+import org.quiltmc.qsl.networking.impl.server.PlayerSectionIndex;
 import org.quiltmc.qsl.networking.mixin.accessor.EntityTrackerAccessor;
 import org.quiltmc.qsl.networking.mixin.accessor.ThreadedChunkManagerAccessor;
 
@@ -108,20 +110,41 @@ public static Collection<ServerPlayerEntity> tracking(ServerWorld world, ChunkPo
 	 * @throws IllegalArgumentException if the entity is not in a server world
 	 */
 	public static Collection<ServerPlayerEntity> tracking(Entity entity) {
+		var players = new HashSet<ServerPlayerEntity>();
+		forEachTracking(entity, players::add);
+
+		// return an immutable collection to guard against accidental removals.
+		return Collections.unmodifiableCollection(players);
+	}
+
+	/**
+	 * Runs an action for each player tracking an entity in a server world.
+	 * <p>
+	 * Unlike {@link #tracking(Entity)}, this does not allocate any collection.
+	 * <p>
+	 * <b>Warning</b>: If the provided entity is a player, it is not
+	 * guaranteed by the contract that said player is visited.
+	 *
+	 * @param entity the entity being tracked
+	 * @param action the action to run for each player tracking the entity
+	 * @throws IllegalArgumentException if the entity is not in a server world
+	 */
+	public static void forEachTracking(Entity entity, Consumer<ServerPlayerEntity> action) {
 		Objects.requireNonNull(entity, "Entity cannot be null");
+		Objects.requireNonNull(action, "Action cannot be null");
 		ChunkManager manager = entity.world.getChunkManager();
 
 		if (manager instanceof ServerChunkManager serverManager) {
 			ThreadedChunkManager storage = serverManager.delegate;
 			EntityTrackerAccessor tracker = ((ThreadedChunkManagerAccessor) storage).getEntityTrackers().get(entity.getId());
 
-			// return an immutable collection to guard against accidental removals.
 			if (tracker != null) {
-				return Collections.unmodifiableCollection(tracker.getPlayersTracking()
-						.stream().map(EntityTrackingListener::getPlayer).collect(Collectors.toSet()));
+				for (var listener : tracker.getPlayersTracking()) {
+					action.accept(listener.getPlayer());
+				}
 			}
 
-			return Collections.emptySet();
+			return;
 		}
 
 		throw new IllegalArgumentException("Only supported on server worlds!");
@@ -169,12 +192,9 @@ public static Collection<ServerPlayerEntity> tracking(ServerWorld world, BlockPo
 	 * @return the players around the position
 	 */
 	public static Collection<ServerPlayerEntity> around(ServerWorld world, Vec3d pos, double radius) {
-		double radiusSq = radius * radius;
-
-		return world(world)
-				.stream()
-				.filter((p) -> p.squaredDistanceTo(pos) <= radiusSq)
-				.collect(Collectors.toList());
+		var players = new ArrayList<ServerPlayerEntity>();
+		forEachAround(world, pos, radius, players::add);
+		return players;
 	}
 
 	/**
@@ -188,12 +208,43 @@ public static Collection<ServerPlayerEntity> around(ServerWorld world, Vec3d pos
 	 * @return the players around the position
 	 */
 	public static Collection<ServerPlayerEntity> around(ServerWorld world, Vec3i pos, double radius) {
-		double radiusSq = radius * radius;
+		return around(world, Vec3d.of(pos), radius);
+	}
 
-		return world(world)
-				.stream()
-				.filter((p) -> p.squaredDistanceTo(pos.getX(), pos.getY(), pos.getZ()) <= radiusSq)
-				.collect(Collectors.toList());
+	/**
+	 * Runs an action for each player around a position in a world.
+	 * <p>
+	 * The distance check is done in the three-dimensional space instead of in the horizontal plane.
+	 * <p>
+	 * Unlike {@link #around(ServerWorld, Vec3d, double)}, this does not allocate any collection,
+	 * and only the players of the chunk sections around the position are checked.
+	 *
+	 * @param world  the world
+	 * @param pos    the position
+	 * @param radius the maximum distance from the position in blocks
+	 * @param action the action to run for each player around the position
+	 */
+	public static void forEachAround(ServerWorld world, Vec3d pos, double radius, Consumer<ServerPlayerEntity> action) {
+		Objects.requireNonNull(world, "The world cannot be null");
+		Objects.requireNonNull(pos, "The position cannot be null");
+		Objects.requireNonNull(action, "Action cannot be null");
+
+		PlayerSectionIndex.of(world).forEachAround(world, pos, radius, action);
+	}
+
+	/**
+	 * Runs an action for each player around a position in a world.
+	 * <p>
+	 * The distance check is done in the three-dimensional space instead of in the horizontal plane.
+	 *
+	 * @param world  the world
+	 * @param pos    the position (can be a block pos)
+	 * @param radius the maximum distance from the position in blocks
+	 * @param action the action to run for each player around the position
+	 * @see #forEachAround(ServerWorld, Vec3d, double, Consumer)
+	 */
+	public static void forEachAround(ServerWorld world, Vec3i pos, double radius, Consumer<ServerPlayerEntity> action) {
+		forEachAround(world, Vec3d.of(pos), radius, action);
 	}
 
 	private PlayerLookup() {
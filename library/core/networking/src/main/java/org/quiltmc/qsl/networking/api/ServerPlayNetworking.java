@@ -33,6 +33,7 @@
 import net.minecraft.util.Identifier;
 
 import org.quiltmc.qsl.networking.api.client.ClientPlayNetworking;
+import org.quiltmc.qsl.networking.impl.server.PacketBroadcaster;
 import org.quiltmc.qsl.networking.impl.server.ServerNetworkingImpl;
 
 /**
@@ -254,7 +255,7 @@ public static void send(ServerPlayerEntity player, Identifier channelName, Packe
 		Objects.requireNonNull(channelName, "Channel name cannot be null");
 		Objects.requireNonNull(buf, "Packet byte buf cannot be null");
 
-		player.networkHandler.sendPacket(createS2CPacket(channelName, buf));
+		ServerNetworkingImpl.send(player, channelName, buf);
 	}
 
 	/**
@@ -263,6 +264,7 @@ public static void send(ServerPlayerEntity player, Identifier channelName, Packe
 	 * @param players     the players to send the packet to
 	 * @param channelName the channel of the packet
 	 * @param buf         the payload of the packet
+	 * @see #broadcast(Collection, Identifier, PacketByteBuf)
 	 */
 	public static void send(Collection<ServerPlayerEntity> players, Identifier channelName, PacketByteBuf buf) {
 		Objects.requireNonNull(players, "Players collection cannot be null");
@@ -270,6 +272,72 @@ public static void send(Collection<ServerPlayerEntity> players, Identifier chann
 		players.forEach(player -> send(player, channelName, buf));
 	}
 
+	/**
+	 * Sends a packet to a collection of players, such as the result of {@link PlayerLookup#tracking(net.minecraft.entity.Entity)}
+	 * or {@link PlayerLookup#around(net.minecraft.server.world.ServerWorld, net.minecraft.util.math.Vec3d, double)}.
+	 * <p>
+	 * The packet is encoded and compressed once, and the resulting bytes are shared between the connections of the players,
+	 * which makes this much cheaper than sending the packet to each player.
+	 * <p>
+	 * Unlike {@link #send(Collection, Identifier, PacketByteBuf)}, the shared bytes are written directly after the encoding stages
+	 * of each connection pipeline: the packet does not go through {@link net.minecraft.network.ClientConnection#send(net.minecraft.network.packet.Packet)},
+	 * so no packet send listener is called, and pipeline handlers placed between the encoder and the compression are skipped.
+	 * Connections which cannot share the encoded bytes, such as local connections, are sent the packet normally.
+	 *
+	 * @param players     the players to send the packet to
+	 * @param channelName the channel of the packet
+	 * @param buf         the payload of the packet
+	 */
+	public static void broadcast(Collection<ServerPlayerEntity> players, Identifier channelName, PacketByteBuf buf) {
+		Objects.requireNonNull(players, "Players collection cannot be null");
+		Objects.requireNonNull(channelName, "Channel name cannot be null");
+		Objects.requireNonNull(buf, "Packet byte buf cannot be null");
+
+		PacketBroadcaster.broadcast(players, channelName, buf);
+	}
+
+	/**
+	 * Sets whether the payloads sent through the {@linkplain #getSender(ServerPlayNetworkHandler) packet sender}
+	 * of the given connection are bundled.
+	 * <p>
+	 * When bundling, payloads sent through the packet sender on the server thread are queued and sent as a single packet
+	 * at the end of the tick, which saves the overhead of many small packets.
+	 * Any other packet sent to the player, from any thread, first sends the queued payloads,
+	 * so packets are always received in the order they were sent in.
+	 * <p>
+	 * Bundling only happens if the client supports it, otherwise payloads are sent as usual.
+	 *
+	 * @param handler  the network handler, representing the connection to the player/client
+	 * @param bundling {@code true} to bundle payloads, or {@code false} otherwise
+	 */
+	public static void setBundling(ServerPlayNetworkHandler handler, boolean bundling) {
+		Objects.requireNonNull(handler, "Server play network handler cannot be null");
+
+		ServerNetworkingImpl.getAddon(handler).setBundling(bundling);
+	}
+
+	/**
+	 * Checks whether the payloads sent through the packet sender of the given connection are bundled.
+	 *
+	 * @param handler the network handler, representing the connection to the player/client
+	 * @return {@code true} if payloads are bundled, or {@code false} otherwise
+	 * @see #setBundling(ServerPlayNetworkHandler, boolean)
+	 */
+	public static boolean isBundling(ServerPlayNetworkHandler handler) {
+		Objects.requireNonNull(handler, "Server play network handler cannot be null");
+
+		return ServerNetworkingImpl.getAddon(handler).isBundling();
+	}
+
+	/**
+	 * {@return the number of packets which did not need to be sent since the game started thanks to bundling}
+	 *
+	 * @see #setBundling(ServerPlayNetworkHandler, boolean)
+	 */
+	public static long getBundlingSavedPacketCount() {
+		return ServerNetworkingImpl.getSavedPacketCount();
+	}
+
 	// Helper methods
 
 	// TODO: Possible future CHASM extension method.
@@ -221,7 +221,7 @@ public static PacketSender getSender() throws IllegalStateException {
 	public static void send(Identifier channelName, PacketByteBuf buf) throws IllegalStateException {
 		// You cant send without a client player, so this is fine
 		if (MinecraftClient.getInstance().getNetworkHandler() != null) {
-			MinecraftClient.getInstance().getNetworkHandler().sendPacket(createC2SPacket(channelName, buf));
+			ClientNetworkingImpl.send(MinecraftClient.getInstance().getNetworkHandler(), channelName, buf);
 			return;
 		}
 
@@ -78,6 +78,13 @@ protected void registerPendingChannels(ChannelInfoHolder holder) {
 	protected boolean handle(Identifier channelName, PacketByteBuf originalBuf) {
 		this.logger.debug("Handling inbound packet from channel with name \"{}\"", channelName);
 
+		// Bundles are not recorded, as each of their payloads is handled and recorded on its own.
+		boolean recorded = !NetworkingImpl.BUNDLE_CHANNEL.equals(channelName);
+
+		if (recorded) {
+			NetworkStatisticsImpl.recordInbound(channelName, originalBuf.readableBytes());
+		}
+
 		// Handle reserved packets
 		if (NetworkingImpl.REGISTER_CHANNEL.equals(channelName)) {
 			this.receiveRegistration(true, PacketByteBufs.slice(originalBuf));
@@ -96,12 +103,17 @@ protected boolean handle(Identifier channelName, PacketByteBuf originalBuf) {
 		}
 
 		PacketByteBuf buf = PacketByteBufs.slice(originalBuf);
+		long start = recorded ? NetworkStatisticsImpl.startHandling() : 0L;
 
 		try {
 			this.receive(handler, buf);
 		} catch (Throwable ex) {
 			this.logger.error("Encountered exception while handling in channel with name \"{}\"", channelName, ex);
 			throw ex;
+		} finally {
+			if (recorded) {
+				NetworkStatisticsImpl.recordHandled(channelName, start);
+			}
 		}
 
 		return true;
@@ -183,6 +195,24 @@ public void sendPacket(Packet<?> packet, PacketSendListener listener) {
 		this.connection.send(packet, listener);
 	}
 
+	@Override
+	public void sendPacket(Identifier channel, PacketByteBuf buf) {
+		Objects.requireNonNull(channel, "Channel cannot be null");
+		Objects.requireNonNull(buf, "Payload cannot be null");
+
+		NetworkStatisticsImpl.recordOutbound(channel, buf.readableBytes());
+		this.sendPacket(this.createPacket(channel, buf));
+	}
+
+	@Override
+	public void sendPacket(Identifier channel, PacketByteBuf buf, @Nullable PacketSendListener listener) {
+		Objects.requireNonNull(channel, "Channel cannot be null");
+		Objects.requireNonNull(buf, "Payload cannot be null");
+
+		NetworkStatisticsImpl.recordOutbound(channel, buf.readableBytes());
+		this.sendPacket(this.createPacket(channel, buf), listener);
+	}
+
 	/**
 	 * Schedules a task to run on the main thread.
 	 */
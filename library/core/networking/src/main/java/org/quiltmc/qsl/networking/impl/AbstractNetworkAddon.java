@@ -16,14 +16,12 @@
 
 package org.quiltmc.qsl.networking.impl;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import org.jetbrains.annotations.ApiStatus;
@@ -42,11 +40,11 @@
 public abstract class AbstractNetworkAddon<H> {
 	protected final GlobalReceiverRegistry<H> receiver;
 	protected final Logger logger;
-	// A lock is used due to possible access on netty's event loops and game thread at same times such as during dynamic registration
-	private final ReadWriteLock lock = new ReentrantReadWriteLock();
-	// Sync map should be fine as there is little read write competition
-	// All access to this map is guarded by the lock
-	private final Map<Identifier, H> handlers = new Object2ObjectOpenHashMap<>();
+	// A lock is used due to possible writes on netty's event loops and game thread at same times such as during dynamic registration
+	private final Object lock = new Object();
+	// Handlers are read on netty's event loops for every packet, while writes are rare.
+	// The handlers are an immutable snapshot which is replaced on each write under the lock, so reads don't need to lock.
+	private volatile Handlers<H> handlers = new Handlers<>(Map.of(), Set.of(), false);
 	private final AtomicBoolean disconnected = new AtomicBoolean(); // blocks redundant disconnect notifications
 
 	protected AbstractNetworkAddon(GlobalReceiverRegistry<H> receiver, String description) {
@@ -56,13 +54,23 @@ protected AbstractNetworkAddon(GlobalReceiverRegistry<H> receiver, String descri
 
 	@Nullable
 	public H getHandler(Identifier channel) {
-		Lock lock = this.lock.readLock();
-		lock.lock();
+		return this.handlers.get(this.receiver, channel);
+	}
+
+	/**
+	 * Makes the global receivers available to this addon.
+	 * <p>
+	 * The global receivers are not copied, they are layered under the handlers registered to this addon,
+	 * so this is constant time regardless of the number of global receivers.
+	 * Registration handling is not invoked for the inherited channels.
+	 */
+	protected void inheritGlobalReceivers() {
+		synchronized (this.lock) {
+			var handlers = this.handlers;
 
-		try {
-			return this.handlers.get(channel);
-		} finally {
-			lock.unlock();
+			if (!handlers.inheritsGlobal()) {
+				this.handlers = new Handlers<>(handlers.overrides(), handlers.hidden(), true);
+			}
 		}
 	}
 
@@ -74,19 +82,16 @@ public boolean registerChannel(Identifier channelName, H handler) {
 			throw new IllegalArgumentException(String.format("Cannot register handler for reserved channel with name \"%s\"", channelName));
 		}
 
-		Lock lock = this.lock.writeLock();
-		lock.lock();
-
-		try {
-			final boolean replaced = this.handlers.putIfAbsent(channelName, handler) == null;
+		synchronized (this.lock) {
+			var handlers = this.handlers;
 
-			if (replaced) {
-				this.handleRegistration(channelName);
+			if (handlers.get(this.receiver, channelName) != null) {
+				return false;
 			}
 
-			return replaced;
-		} finally {
-			lock.unlock();
+			this.handlers = handlers.with(channelName, handler);
+			this.handleRegistration(channelName);
+			return true;
 		}
 	}
 
@@ -97,33 +102,77 @@ public H unregisterChannel(Identifier channelName) {
 			throw new IllegalArgumentException(String.format("Cannot register handler for reserved channel with name \"%s\"", channelName));
 		}
 
-		Lock lock = this.lock.writeLock();
-		lock.lock();
+		synchronized (this.lock) {
+			var handlers = this.handlers;
+			final H removed = handlers.get(this.receiver, channelName);
 
-		try {
-			final H removed = this.handlers.remove(channelName);
-
-			if (removed != null) {
-				this.handleUnregistration(channelName);
+			if (removed == null) {
+				return null;
 			}
 
+			this.handlers = handlers.without(channelName);
+			this.handleUnregistration(channelName);
 			return removed;
-		} finally {
-			lock.unlock();
 		}
 	}
 
-	public Set<Identifier> getReceivableChannels() {
-		Lock lock = this.lock.readLock();
-		lock.lock();
+	/**
+	 * Called by the global receiver registry once a global receiver has been registered.
+	 *
+	 * @param channelName the channel name
+	 * @param handler     the global receiver
+	 */
+	void onGlobalReceiverRegistered(Identifier channelName, H handler) {
+		synchronized (this.lock) {
+			var handlers = this.handlers;
+
+			if (!handlers.inheritsGlobal()) {
+				this.registerChannel(channelName, handler);
+			} else if (!handlers.overrides().containsKey(channelName)) {
+				// The global receiver is visible again, even if this addon unregistered the channel before.
+				this.handlers = handlers.unhide(channelName);
+				this.handleRegistration(channelName);
+			}
+		}
+	}
 
-		try {
-			return new HashSet<>(this.handlers.keySet());
-		} finally {
-			lock.unlock();
+	/**
+	 * Called by the global receiver registry once a global receiver has been unregistered.
+	 *
+	 * @param channelName the channel name
+	 */
+	void onGlobalReceiverUnregistered(Identifier channelName) {
+		synchronized (this.lock) {
+			var handlers = this.handlers;
+
+			if (handlers.inheritsGlobal() && !handlers.overrides().containsKey(channelName)) {
+				// The global snapshot no longer contains the receiver.
+				if (handlers.hidden().contains(channelName)) {
+					this.handlers = handlers.unhide(channelName);
+				} else {
+					this.handleUnregistration(channelName);
+				}
+			} else {
+				this.unregisterChannel(channelName);
+			}
 		}
 	}
 
+	public Set<Identifier> getReceivableChannels() {
+		var handlers = this.handlers;
+		var channels = new HashSet<>(handlers.overrides().keySet());
+
+		if (handlers.inheritsGlobal()) {
+			for (var channel : this.receiver.getReceivers().keySet()) {
+				if (!handlers.hidden().contains(channel)) {
+					channels.add(channel);
+				}
+			}
+		}
+
+		return channels;
+	}
+
 	protected abstract void handleRegistration(Identifier channelName);
 
 	protected abstract void handleUnregistration(Identifier channelName);
@@ -144,4 +193,56 @@ public final void handleDisconnect() {
 	 * @return whether the channel is reserved
 	 */
 	protected abstract boolean isReservedChannel(Identifier channelName);
+
+	/**
+	 * Represents an immutable snapshot of the handlers of an addon.
+	 *
+	 * @param overrides      the handlers registered to this addon, which take precedence over global receivers
+	 * @param hidden         the global channels unregistered from this addon
+	 * @param inheritsGlobal {@code true} if global receivers are visible to this addon, or {@code false} otherwise
+	 * @param <H>            the channel handler type
+	 */
+	private record Handlers<H>(Map<Identifier, H> overrides, Set<Identifier> hidden, boolean inheritsGlobal) {
+		@Nullable
+		H get(GlobalReceiverRegistry<H> receiver, Identifier channel) {
+			H handler = this.overrides.get(channel);
+
+			if (handler == null && this.inheritsGlobal && !this.hidden.contains(channel)) {
+				handler = receiver.getReceiver(channel);
+			}
+
+			return handler;
+		}
+
+		Handlers<H> with(Identifier channel, H handler) {
+			var overrides = new Object2ObjectOpenHashMap<>(this.overrides);
+			overrides.put(channel, handler);
+			return new Handlers<>(Collections.unmodifiableMap(overrides), this.hidden, this.inheritsGlobal);
+		}
+
+		Handlers<H> without(Identifier channel) {
+			var overrides = new Object2ObjectOpenHashMap<>(this.overrides);
+			overrides.remove(channel);
+
+			var hidden = this.hidden;
+
+			if (this.inheritsGlobal && !hidden.contains(channel)) {
+				var newHidden = new HashSet<>(hidden);
+				newHidden.add(channel);
+				hidden = Set.copyOf(newHidden);
+			}
+
+			return new Handlers<>(Collections.unmodifiableMap(overrides), hidden, this.inheritsGlobal);
+		}
+
+		Handlers<H> unhide(Identifier channel) {
+			if (!this.hidden.contains(channel)) {
+				return this;
+			}
+
+			var hidden = new HashSet<>(this.hidden);
+			hidden.remove(channel);
+			return new Handlers<>(this.overrides, Set.copyOf(hidden), this.inheritsGlobal);
+		}
+	}
 }
@@ -16,13 +16,11 @@
 
 package org.quiltmc.qsl.networking.impl;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import org.jetbrains.annotations.ApiStatus;
@@ -32,28 +30,24 @@
 
 @ApiStatus.Internal
 public final class GlobalReceiverRegistry<H> {
-	private final ReadWriteLock lock = new ReentrantReadWriteLock();
-	private final Map<Identifier, H> receivers;
+	private final Object lock = new Object();
+	// Receivers are read on netty's event loops while writes are rare,
+	// so the map is an immutable snapshot replaced on each write under the lock and reads don't need to lock.
+	private volatile Map<Identifier, H> receivers;
+	// Guarded by the lock.
 	private final Set<AbstractNetworkAddon<H>> trackedAddons = new HashSet<>();
 
 	public GlobalReceiverRegistry() {
-		this(new Object2ObjectOpenHashMap<>()); // sync map should be fine as there is little read write competitions
+		this(new Object2ObjectOpenHashMap<>());
 	}
 
 	public GlobalReceiverRegistry(Map<Identifier, H> map) {
-		this.receivers = map;
+		this.receivers = Collections.unmodifiableMap(new Object2ObjectOpenHashMap<>(map));
 	}
 
 	@Nullable
 	public H getReceiver(Identifier channelName) {
-		Lock lock = this.lock.readLock();
-		lock.lock();
-
-		try {
-			return this.receivers.get(channelName);
-		} finally {
-			lock.unlock();
-		}
+		return this.receivers.get(channelName);
 	}
 
 	public boolean registerGlobalReceiver(Identifier channelName, H handler) {
@@ -64,19 +58,17 @@ public boolean registerGlobalReceiver(Identifier channelName, H handler) {
 			throw new IllegalArgumentException(String.format("Cannot register handler for reserved channel with name \"%s\"", channelName));
 		}
 
-		Lock lock = this.lock.writeLock();
-		lock.lock();
-
-		try {
-			final boolean inserted = this.receivers.putIfAbsent(channelName, handler) == null;
-
-			if (inserted) {
-				this.handleRegistration(channelName, handler);
+		synchronized (this.lock) {
+			if (this.receivers.containsKey(channelName)) {
+				return false;
 			}
 
-			return inserted;
-		} finally {
-			lock.unlock();
+			var receivers = new Object2ObjectOpenHashMap<>(this.receivers);
+			receivers.put(channelName, handler);
+			this.receivers = Collections.unmodifiableMap(receivers);
+
+			this.handleRegistration(channelName, handler);
+			return true;
 		}
 	}
 
@@ -87,91 +79,54 @@ public H unregisterGlobalReceiver(Identifier channelName) {
 			throw new IllegalArgumentException(String.format("Cannot unregister packet handler for reserved channel with name \"%s\"", channelName));
 		}
 
-		Lock lock = this.lock.writeLock();
-		lock.lock();
-
-		try {
-			final H removed = this.receivers.remove(channelName);
-
-			if (removed != null) {
-				this.handleUnregistration(channelName);
+		synchronized (this.lock) {
+			if (!this.receivers.containsKey(channelName)) {
+				return null;
 			}
 
+			var receivers = new Object2ObjectOpenHashMap<>(this.receivers);
+			final H removed = receivers.remove(channelName);
+			this.receivers = Collections.unmodifiableMap(receivers);
+
+			this.handleUnregistration(channelName);
 			return removed;
-		} finally {
-			lock.unlock();
 		}
 	}
 
+	/**
+	 * {@return an immutable snapshot of the global receivers}
+	 */
 	public Map<Identifier, H> getReceivers() {
-		Lock lock = this.lock.writeLock();
-		lock.lock();
-
-		try {
-			return new Object2ObjectOpenHashMap<>(this.receivers);
-		} finally {
-			lock.unlock();
-		}
+		return this.receivers;
 	}
 
 	public Set<Identifier> getChannels() {
-		Lock lock = this.lock.readLock();
-		lock.lock();
-
-		try {
-			return new HashSet<>(this.receivers.keySet());
-		} finally {
-			lock.unlock();
-		}
+		return new HashSet<>(this.receivers.keySet());
 	}
 
 	// State tracking methods
 
 	public void startSession(AbstractNetworkAddon<H> addon) {
-		Lock lock = this.lock.writeLock();
-		lock.lock();
-
-		try {
+		synchronized (this.lock) {
 			this.trackedAddons.add(addon);
-		} finally {
-			lock.unlock();
 		}
 	}
 
 	public void endSession(AbstractNetworkAddon<H> addon) {
-		Lock lock = this.lock.writeLock();
-		lock.lock();
-
-		try {
+		synchronized (this.lock) {
 			this.trackedAddons.remove(addon);
-		} finally {
-			lock.unlock();
 		}
 	}
 
 	private void handleRegistration(Identifier channelName, H handler) {
-		Lock lock = this.lock.writeLock();
-		lock.lock();
-
-		try {
-			for (AbstractNetworkAddon<H> addon : this.trackedAddons) {
-				addon.registerChannel(channelName, handler);
-			}
-		} finally {
-			lock.unlock();
+		for (AbstractNetworkAddon<H> addon : this.trackedAddons) {
+			addon.onGlobalReceiverRegistered(channelName, handler);
 		}
 	}
 
 	private void handleUnregistration(Identifier channelName) {
-		Lock lock = this.lock.writeLock();
-		lock.lock();
-
-		try {
-			for (AbstractNetworkAddon<H> addon : this.trackedAddons) {
-				addon.unregisterChannel(channelName);
-			}
-		} finally {
-			lock.unlock();
+		for (AbstractNetworkAddon<H> addon : this.trackedAddons) {
+			addon.onGlobalReceiverUnregistered(channelName);
 		}
 	}
 }
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2023 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.networking.impl;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.util.Identifier;
+
+import org.quiltmc.qsl.base.api.util.TriState;
+import org.quiltmc.qsl.networking.api.ChannelStatistics;
+
+/**
+ * Records per-channel statistics of the custom payloads sent and received, if enabled with the {@code quilt.networking.statistics} system property.
+ * <p>
+ * Every recording method returns immediately when disabled, so the cost of the instrumentation is a constant check.
+ */
+@ApiStatus.Internal
+public final class NetworkStatisticsImpl {
+	public static final boolean ENABLED = TriState.fromProperty("quilt.networking.statistics").toBooleanOrElse(false);
+	private static final Map<Identifier, Entry> CHANNELS = new ConcurrentHashMap<>();
+
+	private NetworkStatisticsImpl() {
+		throw new UnsupportedOperationException("NetworkStatisticsImpl only contains static definitions.");
+	}
+
+	public static Collection<Identifier> getChannels() {
+		return Collections.unmodifiableSet(CHANNELS.keySet());
+	}
+
+	public static @Nullable ChannelStatistics get(Identifier channel) {
+		return CHANNELS.get(channel);
+	}
+
+	public static void reset() {
+		CHANNELS.clear();
+	}
+
+	public static void recordInbound(Identifier channel, int bytes) {
+		if (ENABLED) {
+			var entry = getEntry(channel);
+			entry.inboundPackets.increment();
+			entry.inboundBytes.add(bytes);
+		}
+	}
+
+	/**
+	 * {@return the time to pass to {@link #recordHandled(Identifier, long)} once the handler of a packet returns}
+	 */
+	public static long startHandling() {
+		return ENABLED ? System.nanoTime() : 0L;
+	}
+
+	public static void recordHandled(Identifier channel, long start) {
+		if (ENABLED) {
+			long time = System.nanoTime() - start;
+			var entry = getEntry(channel);
+			entry.handlerTime.add(time);
+			entry.handlerLatencies.incrementAndGet(getLatencyBucket(time));
+		}
+	}
+
+	public static void recordOutbound(Identifier channel, int bytes) {
+		if (ENABLED) {
+			var entry = getEntry(channel);
+			entry.outboundPackets.increment();
+			entry.outboundBytes.add(bytes);
+		}
+	}
+
+	/**
+	 * Records the size of a packet of the given channel as written to a connection, after compression.
+	 *
+	 * @param channel the channel of the packet
+	 * @param bytes   the size of the encoded packet
+	 */
+	public static void recordOutboundEncoded(Identifier channel, int bytes) {
+		if (ENABLED) {
+			getEntry(channel).outboundEncodedBytes.add(bytes);
+		}
+	}
+
+	private static Entry getEntry(Identifier channel) {
+		var entry = CHANNELS.get(channel);
+
+		if (entry == null) {
+			entry = CHANNELS.computeIfAbsent(channel, Entry::new);
+		}
+
+		return entry;
+	}
+
+	/**
+	 * {@return the bucket of the latency histogram of the given time, the bucket {@code i} counting times up to {@code 2^i} nanoseconds}
+	 */
+	private static int getLatencyBucket(long time) {
+		if (time <= 1) {
+			return 0;
+		}
+
+		return Math.min(64 - Long.numberOfLeadingZeros(time - 1), ChannelStatistics.LATENCY_BUCKETS - 1);
+	}
+
+	private static final class Entry implements ChannelStatistics {
+		private final Identifier channel;
+		private final LongAdder inboundPackets = new LongAdder();
+		private final LongAdder inboundBytes = new LongAdder();
+		private final LongAdder outboundPackets = new LongAdder();
+		private final LongAdder outboundBytes = new LongAdder();
+		private final LongAdder outboundEncodedBytes = new LongAdder();
+		private final LongAdder handlerTime = new LongAdder();
+		private final AtomicLongArray handlerLatencies = new AtomicLongArray(LATENCY_BUCKETS);
+
+		private Entry(Identifier channel) {
+			this.channel = channel;
+		}
+
+		@Override
+		public Identifier getChannel() {
+			return this.channel;
+		}
+
+		@Override
+		public long getInboundPackets() {
+			return this.inboundPackets.sum();
+		}
+
+		@Override
+		public long getInboundBytes() {
+			return this.inboundBytes.sum();
+		}
+
+		@Override
+		public long getOutboundPackets() {
+			return this.outboundPackets.sum();
+		}
+
+		@Override
+		public long getOutboundBytes() {
+			return this.outboundBytes.sum();
+		}
+
+		@Override
+		public long getOutboundEncodedBytes() {
+			return this.outboundEncodedBytes.sum();
+		}
+
+		@Override
+		public long getHandlerTime() {
+			return this.handlerTime.sum();
+		}
+
+		@Override
+		public long[] getHandlerLatencyHistogram() {
+			var histogram = new long[LATENCY_BUCKETS];
+
+			for (int i = 0; i < histogram.length; i++) {
+				histogram[i] = this.handlerLatencies.get(i);
+			}
+
+			return histogram;
+		}
+	}
+}
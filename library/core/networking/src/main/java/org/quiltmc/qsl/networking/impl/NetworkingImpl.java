@@ -30,11 +30,13 @@
 import net.minecraft.util.Identifier;
 
 import org.quiltmc.loader.api.ModContainer;
+import org.quiltmc.qsl.lifecycle.api.event.ServerTickEvents;
 import org.quiltmc.qsl.networking.api.PacketByteBufs;
 import org.quiltmc.qsl.networking.api.PacketSender;
 import org.quiltmc.qsl.networking.api.ServerLoginConnectionEvents;
 import org.quiltmc.qsl.networking.api.ServerLoginNetworking;
 import org.quiltmc.qsl.networking.api.ServerPlayNetworking;
+import org.quiltmc.qsl.networking.impl.server.ServerNetworkingImpl;
 import org.quiltmc.qsl.networking.mixin.accessor.ServerLoginNetworkHandlerAccessor;
 
 @ApiStatus.Internal
@@ -61,6 +63,13 @@ public final class NetworkingImpl {
 	 * <p>Since our early registration packet does not differ from fabric's, we can support both.
 	 */
 	public static final Identifier EARLY_REGISTRATION_CHANNEL_FABRIC = new Identifier("fabric-networking-api-v1", "early_registration");
+	/**
+	 * Identifier of the packet used to send multiple play payloads as one.
+	 * <p>
+	 * The payload of this packet is a sequence of entries, each made of the channel identifier,
+	 * the length of the payload as a var int and the payload itself.
+	 */
+	public static final Identifier BUNDLE_CHANNEL = new Identifier(MOD_ID, "bundle");
 
 	public static void init(ModContainer mod) {
 		// Login setup
@@ -81,6 +90,9 @@ public static void init(ModContainer mod) {
 
 		ServerLoginNetworking.registerGlobalReceiver(EARLY_REGISTRATION_CHANNEL, NetworkingImpl::receiveEarlyRegistration);
 		ServerLoginNetworking.registerGlobalReceiver(EARLY_REGISTRATION_CHANNEL_FABRIC, NetworkingImpl::receiveEarlyRegistration);
+
+		// Play setup
+		ServerTickEvents.END.register(server -> ServerNetworkingImpl.flushBundles());
 	}
 
 	public static boolean isReservedPlayChannel(Identifier channelName) {
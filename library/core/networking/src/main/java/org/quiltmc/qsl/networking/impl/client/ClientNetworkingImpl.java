@@ -45,6 +45,7 @@
 import org.quiltmc.qsl.networking.impl.ChannelInfoHolder;
 import org.quiltmc.qsl.networking.impl.GlobalReceiverRegistry;
 import org.quiltmc.qsl.networking.impl.NetworkHandlerExtensions;
+import org.quiltmc.qsl.networking.impl.NetworkStatisticsImpl;
 import org.quiltmc.qsl.networking.impl.NetworkingImpl;
 import org.quiltmc.qsl.networking.mixin.accessor.ClientLoginNetworkHandlerAccessor;
 import org.quiltmc.qsl.networking.mixin.accessor.ConnectScreenAccessor;
@@ -69,6 +70,11 @@ public static Packet<ServerPlayPacketListener> createPlayC2SPacket(Identifier ch
 		return new CustomPayloadC2SPacket(channelName, buf);
 	}
 
+	public static void send(ClientPlayNetworkHandler handler, Identifier channelName, PacketByteBuf buf) {
+		NetworkStatisticsImpl.recordOutbound(channelName, buf.readableBytes());
+		handler.sendPacket(createPlayC2SPacket(channelName, buf));
+	}
+
 	/**
 	 * Due to the way logging into a integrated or remote dedicated server will differ, we need to obtain the login client connection differently.
 	 */
@@ -120,6 +126,11 @@ public static void clientInit(ModContainer mod) {
 		// Register a login query handler for early channel registration.
 		ClientLoginNetworking.registerGlobalReceiver(NetworkingImpl.EARLY_REGISTRATION_CHANNEL, ClientNetworkingImpl::receiveEarlyRegistration);
 		ClientLoginNetworking.registerGlobalReceiver(NetworkingImpl.EARLY_REGISTRATION_CHANNEL_FABRIC, ClientNetworkingImpl::receiveEarlyRegistration);
+
+		// Registering the bundle channel also lets the server know that payloads can be bundled.
+		ClientPlayNetworking.registerGlobalReceiver(NetworkingImpl.BUNDLE_CHANNEL, (client, handler, buf, responseSender) ->
+				getAddon(handler).handleBundle(buf)
+		);
 	}
 
 	private static CompletableFuture<PacketByteBuf> receiveEarlyRegistration(
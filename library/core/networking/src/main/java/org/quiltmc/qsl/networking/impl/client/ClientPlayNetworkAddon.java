@@ -18,7 +18,6 @@
 
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 
 import org.jetbrains.annotations.ApiStatus;
 
@@ -30,6 +29,7 @@
 import net.minecraft.util.Identifier;
 
 import org.quiltmc.loader.api.minecraft.ClientOnly;
+import org.quiltmc.qsl.networking.api.PacketByteBufs;
 import org.quiltmc.qsl.networking.api.client.C2SPlayChannelEvents;
 import org.quiltmc.qsl.networking.api.client.ClientPlayConnectionEvents;
 import org.quiltmc.qsl.networking.api.client.ClientPlayNetworking;
@@ -59,9 +59,7 @@ public ClientPlayNetworkAddon(ClientPlayNetworkHandler handler, MinecraftClient
 
 	@Override
 	public void lateInit() {
-		for (Map.Entry<Identifier, ClientPlayNetworking.ChannelReceiver> entry : this.receiver.getReceivers().entrySet()) {
-			this.registerChannel(entry.getKey(), entry.getValue());
-		}
+		this.inheritGlobalReceivers();
 
 		ClientPlayConnectionEvents.INIT.invoker().onPlayInit(this.handler, this.client);
 	}
@@ -95,6 +93,23 @@ public boolean handle(CustomPayloadS2CPacket packet) {
 		}
 	}
 
+	/**
+	 * Handles the payloads of a bundle packet.
+	 *
+	 * @param buf the payload of the bundle packet
+	 */
+	public void handleBundle(PacketByteBuf buf) {
+		while (buf.isReadable()) {
+			Identifier channelName = buf.readIdentifier();
+			int length = buf.readVarInt();
+			var payload = PacketByteBufs.readSlice(buf, length);
+
+			if (NetworkingImpl.BUNDLE_CHANNEL.equals(channelName) || !this.handle(channelName, payload)) {
+				this.logger.debug("Ignored bundled packet from unknown channel with name \"{}\"", channelName);
+			}
+		}
+	}
+
 	@Override
 	protected void receive(ClientPlayNetworking.ChannelReceiver handler, PacketByteBuf buf) {
 		handler.receive(this.client, this.handler, buf, this);
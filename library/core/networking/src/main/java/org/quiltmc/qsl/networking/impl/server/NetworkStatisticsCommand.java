@@ -0,0 +1,135 @@
+/*
+ * Copyright 2023 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.networking.impl.server;
+
+import static com.mojang.brigadier.Command.SINGLE_SUCCESS;
+import static net.minecraft.server.command.CommandManager.argument;
+import static net.minecraft.server.command.CommandManager.literal;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Locale;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.exceptions.DynamicCommandExceptionType;
+import org.jetbrains.annotations.ApiStatus;
+
+import net.minecraft.command.CommandSource;
+import net.minecraft.command.argument.IdentifierArgumentType;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.text.Text;
+
+import org.quiltmc.qsl.networking.api.ChannelStatistics;
+import org.quiltmc.qsl.networking.api.NetworkStatistics;
+
+/**
+ * The {@code /quilt_network_stats} command, which displays the {@linkplain NetworkStatistics network statistics} of the server.
+ * <p>
+ * It is only registered when the statistics are enabled.
+ */
+@ApiStatus.Internal
+public final class NetworkStatisticsCommand {
+	private static final int LISTED_CHANNELS = 10;
+	private static final DynamicCommandExceptionType UNKNOWN_CHANNEL_EXCEPTION = new DynamicCommandExceptionType(
+			channel -> Text.literal("No statistics were recorded for channel " + channel));
+
+	private NetworkStatisticsCommand() {
+		throw new UnsupportedOperationException("NetworkStatisticsCommand only contains static definitions.");
+	}
+
+	public static void register(CommandDispatcher<ServerCommandSource> dispatcher) {
+		dispatcher.register(literal("quilt_network_stats")
+				.requires(source -> source.hasPermissionLevel(2))
+				.executes(NetworkStatisticsCommand::executeList)
+				.then(literal("channel")
+						.then(argument("channel", IdentifierArgumentType.identifier())
+								.suggests((context, builder) -> CommandSource.suggestIdentifiers(NetworkStatistics.getChannels(), builder))
+								.executes(NetworkStatisticsCommand::executeChannel)))
+				.then(literal("reset")
+						.executes(NetworkStatisticsCommand::executeReset))
+		);
+	}
+
+	private static int executeList(CommandContext<ServerCommandSource> ctx) {
+		var channels = new ArrayList<ChannelStatistics>();
+
+		for (var channel : NetworkStatistics.getChannels()) {
+			var statistics = NetworkStatistics.get(channel);
+
+			if (statistics != null) {
+				channels.add(statistics);
+			}
+		}
+
+		channels.sort(Comparator.comparingLong((ChannelStatistics statistics) -> statistics.getInboundBytes() + statistics.getOutboundBytes()).reversed());
+
+		ctx.getSource().sendFeedback(Text.literal("Network statistics of " + channels.size() + " channels, by traffic:"), false);
+
+		for (int i = 0; i < Math.min(LISTED_CHANNELS, channels.size()); i++) {
+			var statistics = channels.get(i);
+			ctx.getSource().sendFeedback(Text.literal(String.format(Locale.ROOT, "%s: %d in (%s), %d out (%s)",
+					statistics.getChannel(),
+					statistics.getInboundPackets(), formatBytes(statistics.getInboundBytes()),
+					statistics.getOutboundPackets(), formatBytes(statistics.getOutboundBytes())
+			)), false);
+		}
+
+		return channels.size();
+	}
+
+	private static int executeChannel(CommandContext<ServerCommandSource> ctx) throws CommandSyntaxException {
+		var channel = IdentifierArgumentType.getIdentifier(ctx, "channel");
+		var statistics = NetworkStatistics.get(channel);
+
+		if (statistics == null) {
+			throw UNKNOWN_CHANNEL_EXCEPTION.create(channel);
+		}
+
+		var source = ctx.getSource();
+		source.sendFeedback(Text.literal("Network statistics of channel " + channel + ":"), false);
+		source.sendFeedback(Text.literal(String.format(Locale.ROOT, "Inbound: %d packets, %s",
+				statistics.getInboundPackets(), formatBytes(statistics.getInboundBytes()))), false);
+		source.sendFeedback(Text.literal(String.format(Locale.ROOT, "Outbound: %d packets, %s (%s encoded by broadcasts)",
+				statistics.getOutboundPackets(), formatBytes(statistics.getOutboundBytes()), formatBytes(statistics.getOutboundEncodedBytes()))), false);
+		source.sendFeedback(Text.literal(String.format(Locale.ROOT, "Handlers: %.3f ms total, p50 <= %.3f ms, p99 <= %.3f ms, max <= %.3f ms",
+				statistics.getHandlerTime() / 1e6,
+				statistics.getHandlerLatencyPercentile(0.5) / 1e6,
+				statistics.getHandlerLatencyPercentile(0.99) / 1e6,
+				statistics.getHandlerLatencyPercentile(1) / 1e6)), false);
+
+		return SINGLE_SUCCESS;
+	}
+
+	private static int executeReset(CommandContext<ServerCommandSource> ctx) {
+		NetworkStatistics.reset();
+		ctx.getSource().sendFeedback(Text.literal("Network statistics have been reset."), true);
+
+		return SINGLE_SUCCESS;
+	}
+
+	private static String formatBytes(long bytes) {
+		if (bytes < 1024) {
+			return bytes + " B";
+		} else if (bytes < 1024 * 1024) {
+			return String.format(Locale.ROOT, "%.1f KiB", bytes / 1024.0);
+		} else {
+			return String.format(Locale.ROOT, "%.1f MiB", bytes / (1024.0 * 1024.0));
+		}
+	}
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2023 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.networking.impl.server;
+
+import java.util.Collection;
+import java.util.zip.Deflater;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.network.ClientConnection;
+import net.minecraft.network.NetworkSide;
+import net.minecraft.network.NetworkState;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.network.PacketDeflater;
+import net.minecraft.network.PacketEncoder;
+import net.minecraft.network.packet.Packet;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.Identifier;
+
+import org.quiltmc.qsl.networking.api.ServerPlayNetworking;
+import org.quiltmc.qsl.networking.impl.NetworkingImpl;
+import org.quiltmc.qsl.networking.impl.NetworkStatisticsImpl;
+import org.quiltmc.qsl.networking.mixin.accessor.ClientConnectionAccessor;
+import org.quiltmc.qsl.networking.mixin.accessor.ServerPlayNetworkHandlerAccessor;
+
+/**
+ * Sends a packet to many players while encoding it only once.
+ * <p>
+ * The packet is encoded and compressed once per compression threshold, and the resulting frame is written
+ * to each connection right after the packet encoding stages of its pipeline, so only length prefixing and encryption
+ * are done per connection.
+ * Connections which do not have the expected pipeline, such as local connections, are sent the packet normally.
+ */
+@ApiStatus.Internal
+public final class PacketBroadcaster {
+	private static final String ENCODER_HANDLER = "encoder";
+	private static final String COMPRESSION_HANDLER = "compress";
+	private static final int NO_COMPRESSION = -1;
+
+	private PacketBroadcaster() {
+		throw new UnsupportedOperationException("PacketBroadcaster only contains static definitions.");
+	}
+
+	public static void broadcast(Collection<ServerPlayerEntity> players, Identifier channelName, PacketByteBuf buf) {
+		if (players.isEmpty()) {
+			return;
+		}
+
+		var packet = ServerPlayNetworking.createS2CPacket(channelName, buf);
+		int size = buf.readableBytes();
+
+		// Channel registration packets need to go through the connection so the addon is notified.
+		if (players.size() == 1 || NetworkingImpl.isReservedPlayChannel(channelName)) {
+			for (var player : players) {
+				NetworkStatisticsImpl.recordOutbound(channelName, size);
+				player.networkHandler.sendPacket(packet);
+			}
+
+			return;
+		}
+
+		Int2ObjectMap<ByteBuf> frames = new Int2ObjectOpenHashMap<>();
+
+		try {
+			for (var player : players) {
+				var connection = ((ServerPlayNetworkHandlerAccessor) player.networkHandler).getConnection();
+				var context = getFrameContext(connection);
+				NetworkStatisticsImpl.recordOutbound(channelName, size);
+
+				if (context == null) {
+					player.networkHandler.sendPacket(packet);
+					continue;
+				}
+
+				int threshold = context.handler() instanceof PacketDeflater deflater ? deflater.getCompressionThreshold() : NO_COMPRESSION;
+				var frame = frames.get(threshold);
+
+				if (frame == null) {
+					frame = encode(packet, channelName, buf, threshold);
+					frames.put(threshold, frame);
+				}
+
+				NetworkStatisticsImpl.recordOutboundEncoded(channelName, frame.readableBytes());
+
+				// The frame skips the connection, so the bundled payloads are flushed first to keep them ahead of it.
+				ServerNetworkingImpl.getAddon(player.networkHandler).flushBundle();
+
+				// The next handler releases the duplicate once written.
+				context.writeAndFlush(frame.retainedDuplicate()).addListener(ChannelFutureListener.FIRE_EXCEPTION_ON_FAILURE);
+			}
+		} finally {
+			for (var frame : frames.values()) {
+				frame.release();
+			}
+		}
+	}
+
+	/**
+	 * Gets the pipeline context from which an encoded frame should be written for the given connection.
+	 *
+	 * @param connection the connection
+	 * @return the context of the last encoding handler of the pipeline, or {@code null} if the frame cannot be shared with this connection
+	 */
+	private static @Nullable ChannelHandlerContext getFrameContext(ClientConnection connection) {
+		if (connection.isLocal() || !connection.isOpen()) {
+			return null;
+		}
+
+		var pipeline = ((ClientConnectionAccessor) connection).getChannel().pipeline();
+
+		if (!(pipeline.get(ENCODER_HANDLER) instanceof PacketEncoder)) {
+			return null;
+		}
+
+		var compression = pipeline.context(COMPRESSION_HANDLER);
+
+		if (compression != null) {
+			return compression.handler() instanceof PacketDeflater ? compression : null;
+		}
+
+		return pipeline.context(ENCODER_HANDLER);
+	}
+
+	/**
+	 * Encodes the given packet like the encoding stages of a connection pipeline would.
+	 *
+	 * @param packet      the packet to encode
+	 * @param channelName the channel of the packet
+	 * @param buf         the payload of the packet
+	 * @param threshold   the compression threshold of the connection, or {@value #NO_COMPRESSION} if the connection is not compressed
+	 * @return the encoded frame, without its length prefix
+	 */
+	private static ByteBuf encode(Packet<?> packet, Identifier channelName, PacketByteBuf buf, int threshold) {
+		var body = new PacketByteBuf(Unpooled.buffer());
+		body.writeVarInt(NetworkState.PLAY.getPacketId(NetworkSide.CLIENTBOUND, packet));
+		// Written like the custom payload packet does, without copying the payload first.
+		body.writeIdentifier(channelName);
+		body.writeBytes(buf, buf.readerIndex(), buf.readableBytes());
+
+		if (threshold == NO_COMPRESSION) {
+			return body;
+		}
+
+		int length = body.readableBytes();
+		var frame = new PacketByteBuf(Unpooled.buffer(length + 5));
+
+		if (length < threshold) {
+			frame.writeVarInt(0);
+			frame.writeBytes(body);
+		} else {
+			var input = new byte[length];
+			body.readBytes(input);
+
+			frame.writeVarInt(length);
+
+			var deflater = new Deflater();
+			var output = new byte[8192];
+
+			try {
+				deflater.setInput(input);
+				deflater.finish();
+
+				while (!deflater.finished()) {
+					int written = deflater.deflate(output);
+					frame.writeBytes(output, 0, written);
+				}
+			} finally {
+				deflater.end();
+			}
+		}
+
+		body.release();
+		return frame;
+	}
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2023 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.networking.impl.server;
+
+import java.util.function.Consumer;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.Reference2LongMap;
+import it.unimi.dsi.fastutil.objects.Reference2LongOpenHashMap;
+import org.jetbrains.annotations.ApiStatus;
+
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+
+/**
+ * Represents the players of a server world bucketed by the chunk section they are in,
+ * so that looking up the players around a position only checks the players of the nearby sections.
+ * <p>
+ * Players are added when they are added to the world, moved when they enter another section,
+ * and removed when they are removed from the world, including when they change dimension.
+ * This must only be used on the server thread.
+ */
+@ApiStatus.Internal
+public final class PlayerSectionIndex {
+	private final Long2ObjectMap<ObjectArrayList<ServerPlayerEntity>> sections = new Long2ObjectOpenHashMap<>();
+	private final Reference2LongMap<ServerPlayerEntity> playerSections = new Reference2LongOpenHashMap<>();
+
+	public static PlayerSectionIndex of(ServerWorld world) {
+		return ((ServerWorldExtensions) world).quilt$getPlayerSectionIndex();
+	}
+
+	public void add(ServerPlayerEntity player) {
+		long section = ChunkSectionPos.toLong(player.getBlockPos());
+
+		if (this.playerSections.containsKey(player)) {
+			this.move(player, section);
+		} else {
+			this.playerSections.put(player, section);
+			this.addToSection(player, section);
+		}
+	}
+
+	/**
+	 * Updates the section of the given player after it moved, if it is in this index.
+	 *
+	 * @param player the player which moved
+	 */
+	public void onMove(ServerPlayerEntity player) {
+		if (this.playerSections.containsKey(player)) {
+			this.move(player, ChunkSectionPos.toLong(player.getBlockPos()));
+		}
+	}
+
+	public void remove(ServerPlayerEntity player) {
+		if (this.playerSections.containsKey(player)) {
+			this.removeFromSection(player, this.playerSections.removeLong(player));
+		}
+	}
+
+	/**
+	 * Runs an action for each player of the given world around a position.
+	 *
+	 * @param world  the world of this index
+	 * @param pos    the position
+	 * @param radius the maximum distance from the position in blocks
+	 * @param action the action to run for each player around the position
+	 */
+	public void forEachAround(ServerWorld world, Vec3d pos, double radius, Consumer<ServerPlayerEntity> action) {
+		double radiusSq = radius * radius;
+		int minX = ChunkSectionPos.getSectionCoord(MathHelper.floor(pos.x - radius));
+		int minY = ChunkSectionPos.getSectionCoord(MathHelper.floor(pos.y - radius));
+		int minZ = ChunkSectionPos.getSectionCoord(MathHelper.floor(pos.z - radius));
+		int maxX = ChunkSectionPos.getSectionCoord(MathHelper.floor(pos.x + radius));
+		int maxY = ChunkSectionPos.getSectionCoord(MathHelper.floor(pos.y + radius));
+		int maxZ = ChunkSectionPos.getSectionCoord(MathHelper.floor(pos.z + radius));
+		long sectionCount = (long) (maxX - minX + 1) * (maxY - minY + 1) * (maxZ - minZ + 1);
+		var players = world.getPlayers();
+
+		if (sectionCount > players.size()) {
+			// Looking up every section of the area would cost more than checking every player.
+			for (int i = 0; i < players.size(); i++) {
+				var player = players.get(i);
+
+				if (player.squaredDistanceTo(pos) <= radiusSq) {
+					action.accept(player);
+				}
+			}
+
+			return;
+		}
+
+		for (int x = minX; x <= maxX; x++) {
+			for (int y = minY; y <= maxY; y++) {
+				for (int z = minZ; z <= maxZ; z++) {
+					var section = this.sections.get(ChunkSectionPos.asLong(x, y, z));
+
+					if (section == null) {
+						continue;
+					}
+
+					for (int i = 0; i < section.size(); i++) {
+						var player = section.get(i);
+
+						if (player.squaredDistanceTo(pos) <= radiusSq) {
+							action.accept(player);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	private void move(ServerPlayerEntity player, long section) {
+		long previousSection = this.playerSections.put(player, section);
+
+		if (previousSection != section) {
+			this.removeFromSection(player, previousSection);
+			this.addToSection(player, section);
+		}
+	}
+
+	private void addToSection(ServerPlayerEntity player, long section) {
+		this.sections.computeIfAbsent(section, key -> new ObjectArrayList<>(2)).add(player);
+	}
+
+	private void removeFromSection(ServerPlayerEntity player, long section) {
+		var players = this.sections.get(section);
+
+		if (players != null) {
+			players.remove(player);
+
+			// Don't keep the sections players left.
+			if (players.isEmpty()) {
+				this.sections.remove(section);
+			}
+		}
+	}
+}
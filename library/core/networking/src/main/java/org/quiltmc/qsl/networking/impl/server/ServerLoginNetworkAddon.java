@@ -76,9 +76,7 @@ public boolean queryTick() {
 			this.sendCompressionPacket();
 
 			// Register global receivers.
-			for (Map.Entry<Identifier, ServerLoginNetworking.QueryResponseReceiver> entry : ServerNetworkingImpl.LOGIN.getReceivers().entrySet()) {
-				ServerLoginNetworking.registerReceiver(this.handler, entry.getKey(), entry.getValue());
-			}
+			this.inheritGlobalReceivers();
 
 			ServerLoginConnectionEvents.QUERY_START.invoker().onLoginStart(this.handler, this.server, this, this.waits::add);
 			this.firstQueryTick = false;
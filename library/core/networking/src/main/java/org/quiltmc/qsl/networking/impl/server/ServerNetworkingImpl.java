@@ -16,6 +16,10 @@
 
 package org.quiltmc.qsl.networking.impl.server;
 
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.atomic.LongAdder;
+
 import org.jetbrains.annotations.ApiStatus;
 
 import net.minecraft.network.PacketByteBuf;
@@ -24,17 +28,25 @@
 import net.minecraft.network.packet.s2c.play.CustomPayloadS2CPacket;
 import net.minecraft.server.network.ServerLoginNetworkHandler;
 import net.minecraft.server.network.ServerPlayNetworkHandler;
+import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.util.Identifier;
 
 import org.quiltmc.qsl.networking.api.ServerLoginNetworking;
 import org.quiltmc.qsl.networking.api.ServerPlayNetworking;
 import org.quiltmc.qsl.networking.impl.GlobalReceiverRegistry;
 import org.quiltmc.qsl.networking.impl.NetworkHandlerExtensions;
+import org.quiltmc.qsl.networking.impl.NetworkStatisticsImpl;
 
 @ApiStatus.Internal
 public final class ServerNetworkingImpl {
 	public static final GlobalReceiverRegistry<ServerLoginNetworking.QueryResponseReceiver> LOGIN = new GlobalReceiverRegistry<>();
 	public static final GlobalReceiverRegistry<ServerPlayNetworking.ChannelReceiver> PLAY = new GlobalReceiverRegistry<>();
+	/**
+	 * The addons which have bundled payloads to send at the end of the current tick, only accessed on the server thread.
+	 */
+	private static final Queue<ServerPlayNetworkAddon> PENDING_BUNDLES = new ArrayDeque<>();
+	static final LongAdder BUNDLED_PAYLOADS = new LongAdder();
+	static final LongAdder SENT_BUNDLES = new LongAdder();
 
 	public static ServerPlayNetworkAddon getAddon(ServerPlayNetworkHandler handler) {
 		return (ServerPlayNetworkAddon) ((NetworkHandlerExtensions) handler).getAddon();
@@ -44,6 +56,30 @@ public static ServerLoginNetworkAddon getAddon(ServerLoginNetworkHandler handler
 		return (ServerLoginNetworkAddon) ((NetworkHandlerExtensions) handler).getAddon();
 	}
 
+	public static void send(ServerPlayerEntity player, Identifier channelName, PacketByteBuf buf) {
+		NetworkStatisticsImpl.recordOutbound(channelName, buf.readableBytes());
+		player.networkHandler.sendPacket(createPlayC2SPacket(channelName, buf));
+	}
+
+	static void queueBundle(ServerPlayNetworkAddon addon) {
+		PENDING_BUNDLES.add(addon);
+	}
+
+	public static void flushBundles() {
+		ServerPlayNetworkAddon addon;
+
+		while ((addon = PENDING_BUNDLES.poll()) != null) {
+			addon.flushBundle();
+		}
+	}
+
+	/**
+	 * {@return the number of packets which didn't need to be sent thanks to bundling}
+	 */
+	public static long getSavedPacketCount() {
+		return BUNDLED_PAYLOADS.sum() - SENT_BUNDLES.sum();
+	}
+
 	public static Packet<ClientPlayPacketListener> createPlayC2SPacket(Identifier channel, PacketByteBuf buf) {
 		return new CustomPayloadS2CPacket(channel, buf);
 	}
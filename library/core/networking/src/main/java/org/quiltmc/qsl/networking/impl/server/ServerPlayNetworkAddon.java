@@ -18,31 +18,46 @@
 
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
+import java.util.Objects;
 
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
 
 import net.minecraft.network.PacketByteBuf;
+import net.minecraft.network.PacketSendListener;
 import net.minecraft.network.packet.Packet;
 import net.minecraft.network.packet.c2s.play.CustomPayloadC2SPacket;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.network.ServerPlayNetworkHandler;
 import net.minecraft.util.Identifier;
 
+import org.quiltmc.qsl.networking.api.PacketByteBufs;
 import org.quiltmc.qsl.networking.api.S2CPlayChannelEvents;
 import org.quiltmc.qsl.networking.api.ServerPlayConnectionEvents;
 import org.quiltmc.qsl.networking.api.ServerPlayNetworking;
 import org.quiltmc.qsl.networking.impl.AbstractChanneledNetworkAddon;
 import org.quiltmc.qsl.networking.impl.ChannelInfoHolder;
 import org.quiltmc.qsl.networking.impl.NetworkingImpl;
+import org.quiltmc.qsl.networking.impl.NetworkStatisticsImpl;
 import org.quiltmc.qsl.networking.mixin.accessor.CustomPayloadC2SPacketAccessor;
 import org.quiltmc.qsl.networking.mixin.accessor.ServerPlayNetworkHandlerAccessor;
 
 @ApiStatus.Internal
 public final class ServerPlayNetworkAddon extends AbstractChanneledNetworkAddon<ServerPlayNetworking.ChannelReceiver> {
 	private final ServerPlayNetworkHandler handler;
+	/**
+	 * The maximum size of a bundle, leaving room under the custom payload size limit for the last entry header.
+	 */
+	private static final int MAX_BUNDLE_SIZE = 1048576 - 1024;
 	private final MinecraftServer server;
 	private boolean sentInitialRegisterPacket;
+	private volatile boolean bundling;
+	/**
+	 * Guards the bundle, which is only appended to on the server thread but may be flushed by a packet sent from any thread.
+	 */
+	private final Object bundleLock = new Object();
+	private volatile @Nullable PacketByteBuf bundle;
+	private int bundledPayloads;
 
 	public ServerPlayNetworkAddon(ServerPlayNetworkHandler handler, MinecraftServer server) {
 		super(ServerNetworkingImpl.PLAY, ((ServerPlayNetworkHandlerAccessor) handler).getConnection(), "ServerPlayNetworkAddon for " + handler.player.getEntityName());
@@ -58,9 +73,7 @@ public ServerPlayNetworkAddon(ServerPlayNetworkHandler handler, MinecraftServer
 
 	@Override
 	public void lateInit() {
-		for (Map.Entry<Identifier, ServerPlayNetworking.ChannelReceiver> entry : this.receiver.getReceivers().entrySet()) {
-			this.registerChannel(entry.getKey(), entry.getValue());
-		}
+		this.inheritGlobalReceivers();
 
 		ServerPlayConnectionEvents.INIT.invoker().onPlayInit(this.handler, this.server);
 	}
@@ -93,6 +106,97 @@ protected void receive(ServerPlayNetworking.ChannelReceiver handler, PacketByteB
 		handler.receive(this.server, this.handler.player, this.handler, buf, this);
 	}
 
+	public boolean isBundling() {
+		return this.bundling;
+	}
+
+	public void setBundling(boolean bundling) {
+		this.bundling = bundling;
+	}
+
+	@Override
+	public void sendPacket(Identifier channel, PacketByteBuf buf) {
+		Objects.requireNonNull(channel, "Channel cannot be null");
+		Objects.requireNonNull(buf, "Payload cannot be null");
+
+		NetworkStatisticsImpl.recordOutbound(channel, buf.readableBytes());
+
+		if (this.canBundle(channel, buf)) {
+			synchronized (this.bundleLock) {
+				var bundle = this.bundle;
+
+				if (bundle != null && bundle.writerIndex() + buf.readableBytes() > MAX_BUNDLE_SIZE) {
+					this.flushBundle();
+					bundle = null;
+				}
+
+				if (bundle == null) {
+					bundle = PacketByteBufs.create();
+					this.bundle = bundle;
+					ServerNetworkingImpl.queueBundle(this);
+				}
+
+				bundle.writeIdentifier(channel);
+				bundle.writeVarInt(buf.readableBytes());
+				bundle.writeBytes(buf, buf.readerIndex(), buf.readableBytes());
+				this.bundledPayloads++;
+			}
+		} else {
+			this.sendPacket(this.createPacket(channel, buf));
+		}
+	}
+
+	@Override
+	public void sendPacket(Packet<?> packet) {
+		// Bundled payloads were sent before this packet.
+		this.flushBundle();
+		super.sendPacket(packet);
+	}
+
+	@Override
+	public void sendPacket(Packet<?> packet, PacketSendListener listener) {
+		this.flushBundle();
+		super.sendPacket(packet, listener);
+	}
+
+	private boolean canBundle(Identifier channel, PacketByteBuf buf) {
+		return this.bundling
+				&& this.server.isOnThread()
+				&& !NetworkingImpl.isReservedPlayChannel(channel)
+				&& buf.readableBytes() < MAX_BUNDLE_SIZE / 2
+				&& this.sendableChannels.contains(NetworkingImpl.BUNDLE_CHANNEL);
+	}
+
+	/**
+	 * Sends the payloads bundled since the last flush as a single packet.
+	 * <p>
+	 * This is called before any other packet is sent to the player, from any thread,
+	 * so that packets are received in the order they were sent in.
+	 */
+	public void flushBundle() {
+		if (this.bundle == null) {
+			return;
+		}
+
+		synchronized (this.bundleLock) {
+			var bundle = this.bundle;
+
+			if (bundle == null) {
+				return;
+			}
+
+			this.bundle = null;
+
+			ServerNetworkingImpl.BUNDLED_PAYLOADS.add(this.bundledPayloads);
+			ServerNetworkingImpl.SENT_BUNDLES.increment();
+			this.bundledPayloads = 0;
+
+			// The bundle is sent while holding the lock, so a packet sent from another thread cannot get ahead of it.
+			// The bundled payloads were already recorded, so the bundle itself is not.
+			super.sendPacket(this.createPacket(NetworkingImpl.BUNDLE_CHANNEL, bundle));
+		}
+	}
+
 	// impl details
 
 	@Override
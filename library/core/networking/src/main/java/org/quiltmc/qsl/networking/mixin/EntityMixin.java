@@ -0,0 +1,37 @@
+/*
+ * Copyright 2023 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.networking.mixin;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+import org.quiltmc.qsl.networking.impl.server.PlayerSectionIndex;
+
+@Mixin(Entity.class)
+abstract class EntityMixin {
+	@Inject(method = "setPos(DDD)V", at = @At("TAIL"))
+	private void onSetPos(double x, double y, double z, CallbackInfo ci) {
+		if ((Object) this instanceof ServerPlayerEntity player) {
+			PlayerSectionIndex.of(player.getWorld()).onMove(player);
+		}
+	}
+}
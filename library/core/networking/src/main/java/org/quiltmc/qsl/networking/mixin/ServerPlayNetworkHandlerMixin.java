@@ -25,6 +25,7 @@
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
 import net.minecraft.network.ClientConnection;
+import net.minecraft.network.PacketSendListener;
 import net.minecraft.network.packet.Packet;
 import net.minecraft.network.packet.c2s.play.CustomPayloadC2SPacket;
 import net.minecraft.network.packet.s2c.play.DisconnectS2CPacket;
@@ -63,6 +64,17 @@ private void handleCustomPayloadReceivedAsync(CustomPayloadC2SPacket packet, Cal
 		}
 	}
 
+	@Inject(
+			method = "sendPacket(Lnet/minecraft/network/packet/Packet;Lnet/minecraft/network/PacketSendListener;)V",
+			at = @At("HEAD")
+	)
+	private void flushBundleBeforePacket(Packet<?> packet, PacketSendListener listener, CallbackInfo ci) {
+		// Bundled payloads were sent before this packet, whichever thread it is sent from.
+		if (this.addon != null) {
+			this.addon.flushBundle();
+		}
+	}
+
 	@Inject(method = "onDisconnected", at = @At("HEAD"))
 	private void handleDisconnection(Text reason, CallbackInfo ci) {
 		this.addon.handleDisconnect();
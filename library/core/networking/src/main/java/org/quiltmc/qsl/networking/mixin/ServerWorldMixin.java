@@ -0,0 +1,51 @@
+/*
+ * Copyright 2023 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.networking.mixin;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+
+import org.quiltmc.qsl.networking.impl.server.PlayerSectionIndex;
+import org.quiltmc.qsl.networking.impl.server.ServerWorldExtensions;
+
+@Mixin(ServerWorld.class)
+abstract class ServerWorldMixin implements ServerWorldExtensions {
+	@Unique
+	private final PlayerSectionIndex quilt$playerSectionIndex = new PlayerSectionIndex();
+
+	@Override
+	public PlayerSectionIndex quilt$getPlayerSectionIndex() {
+		return this.quilt$playerSectionIndex;
+	}
+
+	@Inject(method = "addPlayer", at = @At("TAIL"))
+	private void onAddPlayer(ServerPlayerEntity player, CallbackInfo ci) {
+		this.quilt$playerSectionIndex.add(player);
+	}
+
+	@Inject(method = "removePlayer", at = @At("TAIL"))
+	private void onRemovePlayer(ServerPlayerEntity player, Entity.RemovalReason reason, CallbackInfo ci) {
+		this.quilt$playerSectionIndex.remove(player);
+	}
+}
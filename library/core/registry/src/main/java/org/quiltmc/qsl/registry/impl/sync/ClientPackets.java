@@ -27,10 +27,17 @@
 public final class ClientPackets {
 	/**
 	 * Response for {@link ServerPackets#HANDSHAKE}. Selects the registry sync version to be used from the server's supported options.
+	 * <p>
+	 * Starting with version 3, the client also sends the hashes of the registry mappings it cached from a previous sync with this server.
 	 *
 	 * <pre><code>
 	 * {
 	 *     Supported Version: VarInt
+	 *     (version 3+) Count of cached registries: VarInt
+	 *     (version 3+) [
+	 *         Registry identifier: Identifier
+	 *         Hash: byte[]
+	 *     ]
 	 * }
 	 * </code></pre>
 	 */
@@ -26,7 +26,7 @@
  */
 @ApiStatus.Internal
 public final class ServerPackets {
-	public static final IntSet SUPPORTED_VERSIONS = IntSet.of(2);
+	public static final IntSet SUPPORTED_VERSIONS = IntSet.of(2, 3, 4);
 
 	/**
 	 * Starts registry sync.
@@ -77,9 +77,59 @@ public final class ServerPackets {
 	 *   ]
 	 * }
 	 * </code></pre>
+	 * <p>
+	 * Starting with version 4, a compact format is used instead.
+	 * Entries of a namespace block are sorted by path, and the same namespace may appear in multiple blocks.
+	 *
+	 * <pre><code>
+	 * {
+	 *   Count of Namespace Blocks: VarInt
+	 *   [
+	 *     Common Namespace: String
+	 *     Count of Entries: VarInt
+	 *     [
+	 *       Length of Prefix Shared With Previous Path: VarInt
+	 *       Path Suffix: String
+	 *     ]
+	 *     Raw Id Encoding: byte
+	 *     If the encoding is 0, deltas in path order:
+	 *     [
+	 *       Id Delta From Previous Id (ZigZag): VarInt
+	 *     ]
+	 *     If the encoding is 1, a permutation of the ids in ascending order:
+	 *     Count of Id Runs: VarInt
+	 *     [
+	 *       First Id Delta From End Of Previous Run (ZigZag): VarInt
+	 *       Run Length: VarInt
+	 *     ]
+	 *     Indices In Ascending Ids, Bit-Packed With Bits Of (Count of Entries - 1), At Least 1: byte[]
+	 *     Count of Flag Runs: VarInt
+	 *     [
+	 *       Run Length: VarInt
+	 *       Flags: byte
+	 *     ]
+	 *   ]
+	 * }
+	 * </code></pre>
 	 */
 	public static final Identifier REGISTRY_DATA = id("registry_sync/registry_data");
 
+	/**
+	 * Applies the mapping the client cached from a previous sync to the given registry, in place of
+	 * {@link ServerPackets#REGISTRY_START}, {@link ServerPackets#REGISTRY_DATA} and {@link ServerPackets#REGISTRY_APPLY}.
+	 * <p>
+	 * Only sent for registries whose hash, as sent by the client in {@link ClientPackets#HANDSHAKE}, matches the server's mapping.
+	 * Requires protocol version 3.
+	 *
+	 * <pre><code>
+	 * {
+	 *   Registry identifier: Identifier
+	 *   Flags: byte
+	 * }
+	 * </code></pre>
+	 */
+	public static final Identifier REGISTRY_CACHED = id("registry_sync/registry_cached");
+
 	/**
 	 * Applies changes to current registry, doesn't have any data.
 	 */
@@ -17,12 +17,21 @@
 package org.quiltmc.qsl.registry.impl.sync;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+import io.netty.buffer.Unpooled;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
 
 import net.minecraft.network.ClientConnection;
+import net.minecraft.network.PacketByteBuf;
 import net.minecraft.registry.Registries;
 import net.minecraft.registry.Registry;
 import net.minecraft.server.network.ServerPlayerEntity;
@@ -38,6 +47,19 @@ public final class ServerRegistrySync {
 	public static Text noRegistrySyncMessage = Text.empty();
 	public static boolean supportFabric = false;
 
+	/**
+	 * The approximate size after which registry data gets split into another packet.
+	 */
+	private static final int MAX_DATA_PACKET_SIZE = 524288;
+	/**
+	 * The encodings of the raw ids of a namespace block in the compact format.
+	 *
+	 * @see #writeCompactRawIds(PacketByteBuf, List)
+	 */
+	public static final int COMPACT_IDS_DELTAS = 0;
+	public static final int COMPACT_IDS_PERMUTATION = 1;
+	private static final Map<SynchronizedRegistry<?>, CachedRegistryPackets> CACHED_PACKETS = new Reference2ObjectOpenHashMap<>();
+
 	public static void readConfig() {
 		try {
 			noRegistrySyncMessage = Text.Serializer.fromJson(RegistryConfig.INSTANCE.registry_sync.missing_registry_sync_message);
@@ -74,33 +96,26 @@ public static boolean requiresSync() {
 		return false;
 	}
 
-	public static void sendSyncPackets(ClientConnection connection, ServerPlayerEntity player, int syncVersion) {
+	public static void sendSyncPackets(ClientConnection connection, ServerPlayerEntity player, int syncVersion, Map<Identifier, byte[]> clientHashes) {
 		for (var registry : Registries.REGISTRY) {
 			if (registry instanceof SynchronizedRegistry<?> synchronizedRegistry
 					&& synchronizedRegistry.quilt$requiresSyncing() && synchronizedRegistry.quilt$getContentStatus() != SynchronizedRegistry.Status.VANILLA) {
-				var map = synchronizedRegistry.quilt$getSyncMap();
-
-				var packetData = new HashMap<String, ArrayList<SynchronizedRegistry.SyncEntry>>();
+				var packets = getOrCreatePackets(registry, synchronizedRegistry);
 
-				sendStartPacket(connection, registry);
-				int dataLength = 0;
+				if (syncVersion >= 3) {
+					var registryId = registry.getKey().getValue();
+					var clientHash = clientHashes.get(registryId);
 
-				for (var key : map.keySet()) {
-					dataLength += key.length();
-					var collection = map.get(key);
-					for (var entry : collection) {
-						packetData.computeIfAbsent(key, (k) -> new ArrayList<>()).add(entry);
-						dataLength += entry.path().length() + 4 + 1;
-
-						if (dataLength > 524288) {
-							sendDataPacket(connection, packetData);
-							dataLength = 0;
-						}
+					if (clientHash != null && Arrays.equals(clientHash, packets.hash)) {
+						sendCachedMappingPacket(connection, registry);
+						continue;
 					}
+				}
 
-					if (packetData.size() > 0) {
-						sendDataPacket(connection, packetData);
-					}
+				sendCachedPacket(connection, ServerPackets.REGISTRY_START, packets.start);
+
+				for (var data : packets.getData(syncVersion >= 4)) {
+					sendCachedPacket(connection, ServerPackets.REGISTRY_DATA, data);
 				}
 
 				connection.send(ServerPlayNetworking.createS2CPacket(ServerPackets.REGISTRY_APPLY, PacketByteBufs.empty()));
@@ -110,6 +125,40 @@ public static void sendSyncPackets(ClientConnection connection, ServerPlayerEnti
 		connection.send(ServerPlayNetworking.createS2CPacket(ServerPackets.END, PacketByteBufs.empty()));
 	}
 
+	/**
+	 * Gets the encoded sync packets of a registry, encoding them again only if the registry got marked dirty since the last call.
+	 * <p>
+	 * A registry marked dirty drops its sync map, so the identity of the sync map is used to detect stale packets.
+	 */
+	private static synchronized CachedRegistryPackets getOrCreatePackets(Registry<?> registry, SynchronizedRegistry<?> synchronizedRegistry) {
+		var syncMap = synchronizedRegistry.quilt$getSyncMap();
+		var cached = CACHED_PACKETS.get(synchronizedRegistry);
+
+		if (cached != null && cached.syncMap == syncMap) {
+			return cached;
+		}
+
+		var packets = new CachedRegistryPackets(syncMap, SyncEntryTable.of(syncMap).hash(), createStartPacket(registry));
+		CACHED_PACKETS.put(synchronizedRegistry, packets);
+
+		return packets;
+	}
+
+	/**
+	 * Sends a duplicate of a cached buffer, so each connection gets its own reader index without copying the data.
+	 * <p>
+	 * Cached buffers are heap buffers which are never released, so a duplicate stays valid however long the packet is queued,
+	 * even if the connection closes or the cache is replaced in the meantime.
+	 * Local connections hand the packet as-is to the client, which releases it after handling it, so they are sent a copy instead.
+	 */
+	private static void sendCachedPacket(ClientConnection connection, Identifier channel, PacketByteBuf cached) {
+		if (connection.isLocal()) {
+			connection.send(ServerPlayNetworking.createS2CPacket(channel, new PacketByteBuf(Unpooled.copiedBuffer(cached))));
+		} else {
+			connection.send(ServerPlayNetworking.createS2CPacket(channel, PacketByteBufs.duplicate(cached)));
+		}
+	}
+
 	public static void sendHelloPacket(ClientConnection connection) {
 		var buf = PacketByteBufs.create();
 
@@ -123,7 +172,7 @@ public static void sendHelloPacket(ClientConnection connection) {
 	}
 
 	@SuppressWarnings("unchecked")
-	private static <T extends Registry<?>> void sendStartPacket(ClientConnection connection, T registry) {
+	private static <T extends Registry<?>> PacketByteBuf createStartPacket(T registry) {
 		var buf = PacketByteBufs.create();
 
 		// Registry id
@@ -133,17 +182,60 @@ private static <T extends Registry<?>> void sendStartPacket(ClientConnection con
 		buf.writeVarInt(registry.size());
 
 		// Registry flags
-		var flag = ((SynchronizedRegistry<T>) registry).quilt$getRegistryFlag();
-		if (((SynchronizedRegistry<T>) registry).quilt$getContentStatus() == SynchronizedRegistry.Status.OPTIONAL) {
+		buf.writeByte(getSyncFlags(registry));
+
+		return buf;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T extends Registry<?>> void sendCachedMappingPacket(ClientConnection connection, T registry) {
+		var buf = PacketByteBufs.create();
+
+		// Registry id
+		buf.writeIdentifier(((Registry<T>) Registries.REGISTRY).getId(registry));
+
+		// Registry flags
+		buf.writeByte(getSyncFlags(registry));
+
+		connection.send(ServerPlayNetworking.createS2CPacket(ServerPackets.REGISTRY_CACHED, buf));
+	}
+
+	private static byte getSyncFlags(Registry<?> registry) {
+		var flag = ((SynchronizedRegistry<?>) registry).quilt$getRegistryFlag();
+		if (((SynchronizedRegistry<?>) registry).quilt$getContentStatus() == SynchronizedRegistry.Status.OPTIONAL) {
 			flag |= (0x1 << RegistryFlag.OPTIONAL.ordinal());
 		}
 
-		buf.writeByte(flag);
+		return flag;
+	}
+
+	private static List<PacketByteBuf> createDataPackets(Map<String, Collection<SynchronizedRegistry.SyncEntry>> map) {
+		var packets = new ArrayList<PacketByteBuf>();
+		var packetData = new HashMap<String, ArrayList<SynchronizedRegistry.SyncEntry>>();
+		int dataLength = 0;
+
+		for (var key : map.keySet()) {
+			dataLength += key.length();
+			var collection = map.get(key);
+			for (var entry : collection) {
+				packetData.computeIfAbsent(key, (k) -> new ArrayList<>()).add(entry);
+				dataLength += entry.path().length() + 4 + 1;
+
+				if (dataLength > MAX_DATA_PACKET_SIZE) {
+					packets.add(createDataPacket(packetData));
+					dataLength = 0;
+				}
+			}
+
+			if (packetData.size() > 0) {
+				packets.add(createDataPacket(packetData));
+			}
+		}
 
-		connection.send(ServerPlayNetworking.createS2CPacket(ServerPackets.REGISTRY_START, buf));
+		return packets;
 	}
 
-	private static void sendDataPacket(ClientConnection connection, Map<String, ArrayList<SynchronizedRegistry.SyncEntry>> packetData) {
+	private static PacketByteBuf createDataPacket(Map<String, ArrayList<SynchronizedRegistry.SyncEntry>> packetData) {
 		var buf = PacketByteBufs.create();
 
 		// Number of namespaces
@@ -167,8 +259,241 @@ private static void sendDataPacket(ClientConnection connection, Map<String, Arra
 			}
 		}
 
-		connection.send(ServerPlayNetworking.createS2CPacket(ServerPackets.REGISTRY_DATA, buf));
-
 		packetData.clear();
+
+		return buf;
+	}
+
+	/**
+	 * Creates the registry data packets using the compact format of protocol version 4.
+	 * <p>
+	 * Entries of each namespace are sorted by path so that paths can be front-coded against the previous one,
+	 * raw ids are written with {@link #writeCompactRawIds(PacketByteBuf, List)}, and flags are run-length encoded.
+	 * Namespaces too large for a single packet are split into multiple blocks.
+	 */
+	public static List<PacketByteBuf> createCompactDataPackets(Map<String, Collection<SynchronizedRegistry.SyncEntry>> map) {
+		var packets = new ArrayList<PacketByteBuf>();
+		var blocks = new ArrayList<NamespaceBlock>();
+		int dataLength = 0;
+
+		for (var entry : map.entrySet()) {
+			var namespace = entry.getKey();
+			var entries = new ArrayList<>(entry.getValue());
+			entries.sort(Comparator.comparing(SynchronizedRegistry.SyncEntry::path));
+
+			dataLength += namespace.length();
+			int blockStart = 0;
+
+			for (int i = 0; i < entries.size(); i++) {
+				dataLength += entries.get(i).path().length() + 4 + 1;
+
+				if (dataLength > MAX_DATA_PACKET_SIZE) {
+					blocks.add(new NamespaceBlock(namespace, entries.subList(blockStart, i + 1)));
+					packets.add(createCompactDataPacket(blocks));
+					blockStart = i + 1;
+					dataLength = namespace.length();
+				}
+			}
+
+			if (blockStart < entries.size()) {
+				blocks.add(new NamespaceBlock(namespace, entries.subList(blockStart, entries.size())));
+			}
+		}
+
+		if (!blocks.isEmpty()) {
+			packets.add(createCompactDataPacket(blocks));
+		}
+
+		return packets;
+	}
+
+	private static PacketByteBuf createCompactDataPacket(List<NamespaceBlock> blocks) {
+		var buf = PacketByteBufs.create();
+
+		// Number of namespace blocks
+		buf.writeVarInt(blocks.size());
+		for (var block : blocks) {
+			var entries = block.entries();
+
+			// Namespace
+			buf.writeString(block.namespace());
+
+			// Number of entries
+			buf.writeVarInt(entries.size());
+
+			// Front-coded paths
+			var previousPath = "";
+			for (var entry : entries) {
+				var path = entry.path();
+				int prefix = 0;
+				int maxPrefix = Math.min(path.length(), previousPath.length());
+
+				while (prefix < maxPrefix && path.charAt(prefix) == previousPath.charAt(prefix)) {
+					prefix++;
+				}
+
+				buf.writeVarInt(prefix);
+				buf.writeString(path.substring(prefix));
+				previousPath = path;
+			}
+
+			// Raw ids
+			writeCompactRawIds(buf, entries);
+
+			// Run-length encoded flags
+			var runs = new ArrayList<int[]>();
+			for (var entry : entries) {
+				if (!runs.isEmpty() && runs.get(runs.size() - 1)[1] == entry.flags()) {
+					runs.get(runs.size() - 1)[0]++;
+				} else {
+					runs.add(new int[] {1, entry.flags()});
+				}
+			}
+
+			buf.writeVarInt(runs.size());
+			for (var run : runs) {
+				buf.writeVarInt(run[0]);
+				buf.writeByte(run[1]);
+			}
+		}
+
+		blocks.clear();
+
+		return buf;
+	}
+
+	/**
+	 * Writes the raw ids of the given entries, sorted by path.
+	 * <p>
+	 * Neighbouring paths seldom have neighbouring raw ids, so the ids may instead be written in ascending order
+	 * as runs of consecutive ids, followed by the bit-packed index of the id of each entry in that order.
+	 * Whichever of this permutation and of zigzag-encoded deltas in path order is the smallest is written.
+	 *
+	 * @param buf     the buffer to write to
+	 * @param entries the entries, sorted by path
+	 */
+	private static void writeCompactRawIds(PacketByteBuf buf, List<SynchronizedRegistry.SyncEntry> entries) {
+		int count = entries.size();
+		var sortedIds = new int[count];
+		int deltasLength = 0;
+		int previousId = 0;
+
+		for (int i = 0; i < count; i++) {
+			int rawId = entries.get(i).rawId();
+			sortedIds[i] = rawId;
+			deltasLength += PacketByteBuf.getVarIntLength(zigzag(rawId - previousId));
+			previousId = rawId;
+		}
+
+		Arrays.sort(sortedIds);
+
+		// Pairs of the delta from the end of the previous run and of the length of the run.
+		var runs = new IntArrayList();
+		int runEnd = 0;
+
+		for (int start = 0, end; start < count; start = end) {
+			end = start + 1;
+
+			while (end < count && sortedIds[end] == sortedIds[end - 1] + 1) {
+				end++;
+			}
+
+			runs.add(zigzag(sortedIds[start] - runEnd));
+			runs.add(end - start);
+			runEnd = sortedIds[end - 1] + 1;
+		}
+
+		int bits = getIndexBits(count);
+		var indices = new byte[(int) (((long) bits * count + 7) / 8)];
+
+		for (int i = 0; i < count; i++) {
+			int index = Arrays.binarySearch(sortedIds, entries.get(i).rawId());
+			long bit = (long) i * bits;
+
+			for (int b = 0; b < bits; b++, bit++) {
+				if ((index & (1 << b)) != 0) {
+					indices[(int) (bit >>> 3)] |= (byte) (1 << (bit & 7));
+				}
+			}
+		}
+
+		int permutationLength = PacketByteBuf.getVarIntLength(runs.size() / 2)
+				+ PacketByteBuf.getVarIntLength(indices.length) + indices.length;
+
+		for (int i = 0; i < runs.size(); i++) {
+			permutationLength += PacketByteBuf.getVarIntLength(runs.getInt(i));
+		}
+
+		if (permutationLength < deltasLength) {
+			buf.writeByte(COMPACT_IDS_PERMUTATION);
+			buf.writeVarInt(runs.size() / 2);
+
+			for (int i = 0; i < runs.size(); i++) {
+				buf.writeVarInt(runs.getInt(i));
+			}
+
+			buf.writeByteArray(indices);
+		} else {
+			buf.writeByte(COMPACT_IDS_DELTAS);
+			previousId = 0;
+
+			for (var entry : entries) {
+				buf.writeVarInt(zigzag(entry.rawId() - previousId));
+				previousId = entry.rawId();
+			}
+		}
+	}
+
+	/**
+	 * {@return the number of bits of the index of an id in a permutation of the given number of ids}
+	 *
+	 * @param count the number of ids
+	 */
+	public static int getIndexBits(int count) {
+		return Math.max(1, 32 - Integer.numberOfLeadingZeros(count - 1));
+	}
+
+	private static int zigzag(int value) {
+		return (value << 1) ^ (value >> 31);
+	}
+
+	private record NamespaceBlock(String namespace, List<SynchronizedRegistry.SyncEntry> entries) {}
+
+	private static final class CachedRegistryPackets {
+		final Map<String, Collection<SynchronizedRegistry.SyncEntry>> syncMap;
+		final byte[] hash;
+		final PacketByteBuf start;
+		@Nullable
+		private List<PacketByteBuf> data;
+		@Nullable
+		private List<PacketByteBuf> compactData;
+
+		CachedRegistryPackets(Map<String, Collection<SynchronizedRegistry.SyncEntry>> syncMap, byte[] hash, PacketByteBuf start) {
+			this.syncMap = syncMap;
+			this.hash = hash;
+			this.start = start;
+		}
+
+		/**
+		 * Gets the data packets in the requested format, encoding them on first use.
+		 *
+		 * @param compact {@code true} to use the compact format of protocol version 4, or {@code false} otherwise
+		 * @return the data packets
+		 */
+		synchronized List<PacketByteBuf> getData(boolean compact) {
+			if (compact) {
+				if (this.compactData == null) {
+					this.compactData = createCompactDataPackets(this.syncMap);
+				}
+
+				return this.compactData;
+			} else {
+				if (this.data == null) {
+					this.data = createDataPackets(this.syncMap);
+				}
+
+				return this.data;
+			}
+		}
 	}
 }
@@ -17,7 +17,9 @@
 package org.quiltmc.qsl.registry.impl.sync;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.mojang.logging.LogUtils;
 import org.jetbrains.annotations.ApiStatus;
@@ -79,6 +81,7 @@
 import net.minecraft.network.packet.s2c.play.PlayPingS2CPacket;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.text.Text;
+import net.minecraft.util.Identifier;
 
 import org.quiltmc.qsl.networking.impl.ChannelInfoHolder;
 
@@ -105,6 +108,7 @@ public final class ServerRegistrySyncNetworkHandler implements ServerPlayPacketL
 	private final Runnable continueLoginRunnable;
 
 	private final List<CustomPayloadC2SPacket> delayedPackets = new ArrayList<>();
+	private final Map<Identifier, byte[]> clientHashes = new HashMap<>();
 	private int syncVersion = -1;
 
 	public ServerRegistrySyncNetworkHandler(ServerPlayerEntity player, ClientConnection connection, Runnable continueLogin) {
@@ -124,7 +128,7 @@ public void onPong(PlayPongC2SPacket packet) {
 		switch (packet.getParameter()) {
 			case HELLO_PING -> {
 				if (this.syncVersion != -1) {
-					ServerRegistrySync.sendSyncPackets(this.connection, this.player, this.syncVersion);
+					ServerRegistrySync.sendSyncPackets(this.connection, this.player, this.syncVersion, this.clientHashes);
 				} else if (ServerRegistrySync.supportFabric && ((ChannelInfoHolder) this.connection).getPendingChannelsNames().contains(ServerFabricRegistrySync.ID)) {
 					ServerFabricRegistrySync.sendSyncPackets(this.connection);
 					this.syncVersion = -2;
@@ -149,7 +153,16 @@ private void continueLogin() {
 	@Override
 	public void onCustomPayload(CustomPayloadC2SPacket packet) {
 		if (packet.getChannel().equals(ClientPackets.HANDSHAKE)) {
-			this.syncVersion = packet.getData().readVarInt();
+			var buf = packet.getData();
+			this.syncVersion = buf.readVarInt();
+
+			if (this.syncVersion >= 3) {
+				int count = buf.readVarInt();
+
+				while (count-- > 0) {
+					this.clientHashes.put(buf.readIdentifier(), buf.readByteArray());
+				}
+			}
 		} else if (packet.getChannel().equals(ClientPackets.SYNC_FAILED)) {
 			LOGGER.info("Disconnecting {} due to sync failure of {} registry", this.player.getGameProfile().getName(), packet.getData().readIdentifier());
 		} else {
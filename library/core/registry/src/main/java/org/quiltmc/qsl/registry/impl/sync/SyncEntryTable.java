@@ -0,0 +1,301 @@
+/*
+ * Copyright 2023 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.registry.impl.sync;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import io.netty.handler.codec.DecoderException;
+import it.unimi.dsi.fastutil.bytes.ByteArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import org.jetbrains.annotations.ApiStatus;
+
+import net.minecraft.network.PacketByteBuf;
+
+/**
+ * Represents registry sync entries stored column by column, as an alternative to a sync map.
+ * <p>
+ * No object is allocated per entry besides its path, and namespaces are stored once in a table shared by all entries.
+ */
+@ApiStatus.Internal
+public final class SyncEntryTable {
+	private final List<String> namespaces = new ArrayList<>();
+	private final Object2IntMap<String> namespaceIndices = new Object2IntOpenHashMap<>();
+	private final IntArrayList entryNamespaces = new IntArrayList();
+	private final ObjectArrayList<String> paths = new ObjectArrayList<>();
+	private final IntArrayList rawIds = new IntArrayList();
+	private final ByteArrayList flags = new ByteArrayList();
+
+	public SyncEntryTable() {
+		this.namespaceIndices.defaultReturnValue(-1);
+	}
+
+	public static SyncEntryTable of(Map<String, Collection<SynchronizedRegistry.SyncEntry>> map) {
+		var table = new SyncEntryTable();
+
+		for (var entry : map.entrySet()) {
+			int namespace = table.getNamespaceIndex(entry.getKey());
+
+			for (var syncEntry : entry.getValue()) {
+				table.add(namespace, syncEntry.path(), syncEntry.rawId(), syncEntry.flags());
+			}
+		}
+
+		return table;
+	}
+
+	/**
+	 * Gets the index of the given namespace in the namespace table, adding it if needed.
+	 *
+	 * @param namespace the namespace
+	 * @return the index of the namespace
+	 */
+	public int getNamespaceIndex(String namespace) {
+		int index = this.namespaceIndices.getInt(namespace);
+
+		if (index == -1) {
+			index = this.namespaces.size();
+			this.namespaces.add(namespace);
+			this.namespaceIndices.put(namespace, index);
+		}
+
+		return index;
+	}
+
+	public void add(int namespace, String path, int rawId, byte flags) {
+		this.entryNamespaces.add(namespace);
+		this.paths.add(path);
+		this.rawIds.add(rawId);
+		this.flags.add(flags);
+	}
+
+	/**
+	 * Reads registry data written in the compact format of protocol version 4, and adds its entries to this table.
+	 *
+	 * @param buf the payload of the registry data packet
+	 * @throws DecoderException if the registry data is malformed
+	 * @see ServerPackets#REGISTRY_DATA
+	 * @see ServerRegistrySync#createCompactDataPackets(Map)
+	 */
+	public void readCompactData(PacketByteBuf buf) {
+		int countBlocks = buf.readVarInt();
+		while (countBlocks-- > 0) {
+			var namespaceName = buf.readString();
+			int namespace = this.getNamespaceIndex(namespaceName);
+			int count = buf.readVarInt();
+
+			// Every entry takes at least two bytes.
+			if (count < 0 || count > buf.readableBytes()) {
+				throw new DecoderException("Registry data block of namespace " + namespaceName + " has an invalid entry count " + count);
+			}
+
+			var paths = new String[count];
+			var previousPath = "";
+			for (int i = 0; i < count; i++) {
+				int prefix = buf.readVarInt();
+
+				if (prefix < 0 || prefix > previousPath.length()) {
+					throw new DecoderException("Registry data path of namespace " + namespaceName + " shares " + prefix
+							+ " characters with the " + previousPath.length() + " of the previous path");
+				}
+
+				var path = previousPath.substring(0, prefix) + buf.readString();
+				paths[i] = path;
+				previousPath = path;
+			}
+
+			int idEncoding = buf.readByte();
+			var ids = switch (idEncoding) {
+				case ServerRegistrySync.COMPACT_IDS_DELTAS -> readIdDeltas(buf, count);
+				case ServerRegistrySync.COMPACT_IDS_PERMUTATION -> readIdPermutation(buf, count, namespaceName);
+				default -> throw new DecoderException("Registry data block of namespace " + namespaceName
+						+ " has an unknown raw id encoding " + idEncoding);
+			};
+
+			int countRuns = buf.readVarInt();
+			int index = 0;
+			while (countRuns-- > 0) {
+				int length = buf.readVarInt();
+				byte flags = buf.readByte();
+
+				if (length < 0 || length > count - index) {
+					throw new DecoderException("Registry data flag runs of namespace " + namespaceName + " exceed its " + count + " entries");
+				}
+
+				for (int end = index + length; index < end; index++) {
+					this.add(namespace, paths[index], ids[index], flags);
+				}
+			}
+
+			if (index != count) {
+				throw new DecoderException("Registry data flag runs of namespace " + namespaceName + " cover " + index
+						+ " of its " + count + " entries");
+			}
+		}
+	}
+
+	private static int[] readIdDeltas(PacketByteBuf buf, int count) {
+		var ids = new int[count];
+		int previousId = 0;
+		for (int i = 0; i < count; i++) {
+			previousId += unzigzag(buf.readVarInt());
+			ids[i] = previousId;
+		}
+
+		return ids;
+	}
+
+	private static int[] readIdPermutation(PacketByteBuf buf, int count, String namespaceName) {
+		var sortedIds = new int[count];
+		int countRuns = buf.readVarInt();
+		int filled = 0;
+		int runEnd = 0;
+		while (countRuns-- > 0) {
+			int start = runEnd + unzigzag(buf.readVarInt());
+			int length = buf.readVarInt();
+
+			if (length < 0 || length > count - filled) {
+				throw new DecoderException("Registry data id runs of namespace " + namespaceName + " exceed its " + count + " entries");
+			}
+
+			for (int i = 0; i < length; i++) {
+				sortedIds[filled++] = start + i;
+			}
+
+			runEnd = start + length;
+		}
+
+		if (filled != count) {
+			throw new DecoderException("Registry data id runs of namespace " + namespaceName + " cover " + filled
+					+ " of its " + count + " entries");
+		}
+
+		int bits = ServerRegistrySync.getIndexBits(count);
+		var indices = buf.readByteArray();
+
+		if (indices.length != ((long) bits * count + 7) / 8) {
+			throw new DecoderException("Registry data id indices of namespace " + namespaceName + " have " + indices.length
+					+ " bytes for " + count + " entries");
+		}
+
+		var ids = new int[count];
+		for (int i = 0; i < count; i++) {
+			int index = 0;
+			long bit = (long) i * bits;
+
+			for (int b = 0; b < bits; b++, bit++) {
+				index |= ((indices[(int) (bit >>> 3)] >>> (bit & 7)) & 1) << b;
+			}
+
+			if (index >= count) {
+				throw new DecoderException("Registry data id index " + index + " of namespace " + namespaceName
+						+ " is out of its " + count + " entries");
+			}
+
+			ids[i] = sortedIds[index];
+		}
+
+		return ids;
+	}
+
+	private static int unzigzag(int value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	public int size() {
+		return this.paths.size();
+	}
+
+	public List<String> getNamespaces() {
+		return this.namespaces;
+	}
+
+	public int getNamespaceIndexOf(int index) {
+		return this.entryNamespaces.getInt(index);
+	}
+
+	public String getNamespace(int index) {
+		return this.namespaces.get(this.entryNamespaces.getInt(index));
+	}
+
+	public String getPath(int index) {
+		return this.paths.get(index);
+	}
+
+	public int getRawId(int index) {
+		return this.rawIds.getInt(index);
+	}
+
+	public byte getFlags(int index) {
+		return this.flags.getByte(index);
+	}
+
+	/**
+	 * Computes a content hash of these entries, independent of their order.
+	 *
+	 * @return the SHA-256 hash of the entries
+	 */
+	public byte[] hash() {
+		MessageDigest digest;
+
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+
+		// Raw ids are unique, so sorting by namespace then raw id gives a canonical order.
+		var order = new int[this.size()];
+		for (int i = 0; i < order.length; i++) {
+			order[i] = i;
+		}
+
+		IntArrays.quickSort(order, (a, b) -> {
+			int result = this.getNamespace(a).compareTo(this.getNamespace(b));
+			return result != 0 ? result : Integer.compare(this.getRawId(a), this.getRawId(b));
+		});
+
+		var buffer = ByteBuffer.allocate(5);
+		int previousNamespace = -1;
+
+		for (int i : order) {
+			int namespace = this.getNamespaceIndexOf(i);
+
+			if (namespace != previousNamespace) {
+				digest.update(this.namespaces.get(namespace).getBytes(StandardCharsets.UTF_8));
+				digest.update((byte) 0);
+				previousNamespace = namespace;
+			}
+
+			digest.update(this.getPath(i).getBytes(StandardCharsets.UTF_8));
+			digest.update((byte) 0);
+			digest.update(buffer.clear().putInt(this.getRawId(i)).put(this.getFlags(i)).array());
+		}
+
+		return digest.digest();
+	}
+}
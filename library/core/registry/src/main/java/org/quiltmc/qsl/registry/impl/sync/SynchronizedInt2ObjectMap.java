@@ -16,6 +16,7 @@
 
 package org.quiltmc.qsl.registry.impl.sync;
 
+import java.util.List;
 import java.util.Map;
 
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
@@ -63,12 +64,41 @@ public void rebuildIds() {
 		}
 	}
 
+	/**
+	 * Rebuilds only the keys of the given remapped entries.
+	 * <p>
+	 * As raw ids are unique before and after remapping, the old keys of the remapped entries can be removed
+	 * before inserting the new ones without touching any other key.
+	 *
+	 * @param remappedEntries the entries whose raw id changed
+	 */
+	@SuppressWarnings("unchecked")
+	public void rebuildIds(List<? extends SynchronizedRegistry.RemappedEntry<?>> remappedEntries) {
+		for (var entry : remappedEntries) {
+			this.wrapped.remove(entry.oldId());
+		}
+
+		for (var entry : remappedEntries) {
+			var value = this.resilientMap.get((K) entry.value());
+
+			if (value != null) {
+				this.wrapped.put(entry.newId(), value);
+			}
+		}
+	}
+
 	public static <V> void attemptRebuildIds(Int2ObjectMap<V> map) {
 		if (map instanceof SynchronizedInt2ObjectMap<?, ?> synced) {
 			synced.rebuildIds();
 		}
 	}
 
+	public static <V> void attemptRebuildIds(Int2ObjectMap<V> map, List<? extends SynchronizedRegistry.RemappedEntry<?>> remappedEntries) {
+		if (map instanceof SynchronizedInt2ObjectMap<?, ?> synced) {
+			synced.rebuildIds(remappedEntries);
+		}
+	}
+
 	@Override
 	public int size() {
 		return this.wrapped.size();
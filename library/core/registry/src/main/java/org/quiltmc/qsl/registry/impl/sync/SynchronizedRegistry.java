@@ -17,9 +17,11 @@
 package org.quiltmc.qsl.registry.impl.sync;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
 
 import net.minecraft.registry.Registry;
 import net.minecraft.util.Identifier;
@@ -40,7 +42,22 @@
 
 	void quilt$restoreIdSnapshot();
 
-	Collection<MissingEntry> quilt$applySyncMap(Map<String, Collection<SyncEntry>> map);
+	default Collection<MissingEntry> quilt$applySyncMap(Map<String, Collection<SyncEntry>> map) {
+		return this.quilt$applySyncMap(map, null);
+	}
+
+	default Collection<MissingEntry> quilt$applySyncMap(Map<String, Collection<SyncEntry>> map, @Nullable List<RemappedEntry<T>> remappedEntries) {
+		return this.quilt$applySyncMap(SyncEntryTable.of(map), remappedEntries);
+	}
+
+	/**
+	 * Applies the given sync entries to this registry.
+	 *
+	 * @param table           the sync entries to apply
+	 * @param remappedEntries the list to fill with the entries whose raw id changed, or {@code null} if not needed
+	 * @return the sync entries missing from this registry
+	 */
+	Collection<MissingEntry> quilt$applySyncMap(SyncEntryTable table, @Nullable List<RemappedEntry<T>> remappedEntries);
 
 	@SuppressWarnings("unchecked")
 	static <T> SynchronizedRegistry<T> as(Registry<T> registry) {
@@ -67,6 +84,8 @@ record SyncEntry(String path, int rawId, byte flags) {}
 
 	record MissingEntry(Identifier identifier, int rawId, byte flags) {}
 
+	record RemappedEntry<T>(T value, int oldId, int newId) {}
+
 	enum Status {
 		VANILLA,
 		OPTIONAL,
@@ -17,9 +17,12 @@
 package org.quiltmc.qsl.registry.impl.sync.client;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 import com.mojang.logging.LogUtils;
 import org.jetbrains.annotations.ApiStatus;
@@ -28,21 +31,28 @@
 
 import net.minecraft.block.Block;
 import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.network.ClientLoginNetworkHandler;
 import net.minecraft.client.network.ClientPlayNetworkHandler;
 import net.minecraft.fluid.Fluid;
 import net.minecraft.network.PacketByteBuf;
 import net.minecraft.registry.Registries;
+import net.minecraft.registry.Registry;
+import net.minecraft.state.State;
+import net.minecraft.state.StateManager;
 import net.minecraft.text.Text;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.Language;
+import net.minecraft.util.collection.IdList;
 
 import org.quiltmc.loader.api.minecraft.ClientOnly;
 import org.quiltmc.qsl.networking.api.PacketByteBufs;
 import org.quiltmc.qsl.networking.api.PacketSender;
+import org.quiltmc.qsl.networking.api.client.ClientLoginConnectionEvents;
 import org.quiltmc.qsl.networking.api.client.ClientPlayNetworking;
 import org.quiltmc.qsl.registry.impl.sync.ClientPackets;
 import org.quiltmc.qsl.registry.impl.sync.RegistryFlag;
 import org.quiltmc.qsl.registry.impl.sync.ServerPackets;
+import org.quiltmc.qsl.registry.impl.sync.SyncEntryTable;
 import org.quiltmc.qsl.registry.impl.sync.SynchronizedIdList;
 import org.quiltmc.qsl.registry.impl.sync.SynchronizedRegistry;
 import org.quiltmc.qsl.registry.mixin.client.ClientLoginNetworkHandlerAccessor;
@@ -59,10 +69,12 @@ public final class ClientRegistrySync {
 	@Nullable
 	private static SynchronizedRegistry<?> currentRegistry;
 
+	/**
+	 * The entries of the current registry, decoded on the network thread.
+	 */
 	@Nullable
-	private static Map<String, Collection<SynchronizedRegistry.SyncEntry>> syncMap;
+	private static SyncEntryTable syncTable;
 
-	@SuppressWarnings({"FieldCanBeLocal", "unused"})
 	private static int syncVersion;
 	@SuppressWarnings("unused")
 	private static int currentCount;
@@ -70,15 +82,32 @@ public final class ClientRegistrySync {
 	private static byte currentFlags;
 	private static boolean optionalRegistry;
 
+	/**
+	 * The cache of the server being joined, loaded on the IO worker as soon as the login starts.
+	 */
+	@Nullable
+	private static volatile CompletableFuture<ClientRegistrySyncCache> pendingSyncCache;
+
+	@Nullable
+	private static volatile ClientRegistrySyncCache syncCache;
+
 	public static void registerHandlers() {
+		ClientLoginConnectionEvents.INIT.register(ClientRegistrySync::onLoginStart);
 		ClientPlayNetworking.registerGlobalReceiver(ServerPackets.HANDSHAKE, ClientRegistrySync::handleHelloPacket);
 		ClientPlayNetworking.registerGlobalReceiver(ServerPackets.REGISTRY_START, ClientRegistrySync::handleStartPacket);
 		ClientPlayNetworking.registerGlobalReceiver(ServerPackets.REGISTRY_DATA, ClientRegistrySync::handleDataPacket);
 		ClientPlayNetworking.registerGlobalReceiver(ServerPackets.REGISTRY_APPLY, ClientRegistrySync::handleApplyPacket);
+		ClientPlayNetworking.registerGlobalReceiver(ServerPackets.REGISTRY_CACHED, ClientRegistrySync::handleCachedPacket);
 		ClientPlayNetworking.registerGlobalReceiver(ServerPackets.END, ClientRegistrySync::handleGoodbyePacket);
 		ClientPlayNetworking.registerGlobalReceiver(ServerPackets.REGISTRY_RESTORE, ClientRegistrySync::handleRestorePacket);
 	}
 
+	private static void onLoginStart(ClientLoginNetworkHandler handler, MinecraftClient client) {
+		// Mappings are only cached for remote servers, the integrated server shares the client's registries.
+		var serverInfo = client.getCurrentServerEntry();
+		pendingSyncCache = serverInfo != null ? ClientRegistrySyncCache.loadAsync(serverInfo.address) : null;
+	}
+
 	private static void handleHelloPacket(MinecraftClient client, ClientPlayNetworkHandler handler, PacketByteBuf buf, PacketSender sender) {
 		int count = buf.readVarInt();
 
@@ -96,13 +125,41 @@ private static void handleHelloPacket(MinecraftClient client, ClientPlayNetworkH
 		// This is required as older versions of registry sync erroneously sent RESTORE in place of APPLY.
 		syncVersion = highestSupported;
 
-		sendHelloPacket(sender, highestSupported);
+		var pending = pendingSyncCache;
+		pendingSyncCache = null;
+
+		if (highestSupported >= 3 && pending != null && !handler.getConnection().isLocal()) {
+			// The cache is read on the IO worker, so the response is sent once it is available instead of blocking the network thread.
+			int version = highestSupported;
+			pending.whenComplete((cache, error) -> {
+				if (error != null) {
+					LOGGER.warn("Failed to load the registry sync cache, ignoring it", error);
+				}
+
+				syncCache = cache;
+				sendHelloPacket(sender, version);
+			});
+		} else {
+			syncCache = null;
+			sendHelloPacket(sender, highestSupported);
+		}
 	}
 
 	private static void sendHelloPacket(PacketSender sender, int version) {
 		var buf = PacketByteBufs.create();
 		buf.writeVarInt(version);
 
+		if (version >= 3) {
+			var cache = syncCache;
+			var hashes = cache != null ? cache.getHashes() : Map.<Identifier, byte[]>of();
+			buf.writeVarInt(hashes.size());
+
+			for (var entry : hashes.entrySet()) {
+				buf.writeIdentifier(entry.getKey());
+				buf.writeByteArray(entry.getValue());
+			}
+		}
+
 		sender.sendPacket(ClientPackets.HANDSHAKE, buf);
 	}
 
@@ -114,6 +171,11 @@ public static void sendSyncFailedPacket(ClientPlayNetworkHandler handler, Identi
 	}
 
 	private static void handleGoodbyePacket(MinecraftClient client, ClientPlayNetworkHandler handler, PacketByteBuf buf, PacketSender sender) {
+		if (syncCache != null) {
+			// Saved after every pending registry got committed on the main thread.
+			client.execute(syncCache::save);
+			syncCache = null;
+		}
 	}
 
 	private static void handleStartPacket(MinecraftClient client, ClientPlayNetworkHandler handler, PacketByteBuf buf, PacketSender sender) {
@@ -128,7 +190,7 @@ private static void handleStartPacket(MinecraftClient client, ClientPlayNetworkH
 			currentCount = count;
 			currentFlags = flags;
 			currentRegistryId = identifier;
-			syncMap = new HashMap<>();
+			syncTable = new SyncEntryTable();
 		} else if (RegistryFlag.isOptional(flags)) {
 			optionalRegistry = true;
 		} else {
@@ -139,7 +201,7 @@ private static void handleStartPacket(MinecraftClient client, ClientPlayNetworkH
 	}
 
 	private static void handleDataPacket(MinecraftClient client, ClientPlayNetworkHandler handler, PacketByteBuf buf, PacketSender sender) {
-		if (currentRegistry == null || syncMap == null) {
+		if (currentRegistry == null || syncTable == null) {
 			if (!optionalRegistry) {
 				LOGGER.warn("Received sync data without specifying registry!");
 			}
@@ -147,9 +209,14 @@ private static void handleDataPacket(MinecraftClient client, ClientPlayNetworkHa
 			return;
 		}
 
+		if (syncVersion >= 4) {
+			syncTable.readCompactData(buf);
+			return;
+		}
+
 		int countNamespace = buf.readVarInt();
 		while (countNamespace-- > 0) {
-			var namespace = buf.readString();
+			int namespace = syncTable.getNamespaceIndex(buf.readString());
 			int countLocal = buf.readVarInt();
 
 			while (countLocal-- > 0) {
@@ -157,14 +224,13 @@ private static void handleDataPacket(MinecraftClient client, ClientPlayNetworkHa
 				int id = buf.readVarInt();
 				byte flags = buf.readByte();
 
-				syncMap.computeIfAbsent(namespace, n -> new ArrayList<>()).add(new SynchronizedRegistry.SyncEntry(path, id, flags));
+				syncTable.add(namespace, path, id, flags);
 			}
 		}
 	}
 
-	@SuppressWarnings("EqualsBetweenInconvertibleTypes")
 	private static void handleApplyPacket(MinecraftClient client, ClientPlayNetworkHandler handler, PacketByteBuf buf, PacketSender sender) {
-		if (currentRegistry == null || syncMap == null) {
+		if (currentRegistry == null || syncTable == null) {
 			if (!optionalRegistry) {
 				LOGGER.warn("Received sync data without specifying registry!");
 			}
@@ -172,34 +238,95 @@ private static void handleApplyPacket(MinecraftClient client, ClientPlayNetworkH
 			return;
 		}
 
-		var reg = currentRegistry;
-		var missingEntries = currentRegistry.quilt$applySyncMap(syncMap);
+		var registry = currentRegistry;
+		var registryId = currentRegistryId;
+		var table = syncTable;
+		var optional = optionalRegistry;
+		var cache = syncCache;
+
+		// The decoded registry is committed at once on the main thread.
+		client.execute(() -> {
+			boolean applied = applySyncMap(client, handler, registry, registryId, table, optional);
+
+			if (applied && cache != null) {
+				cache.put(registryId, table);
+			}
+		});
+
+		currentRegistry = null;
+		currentRegistryId = null;
+		currentCount = 0;
+		currentFlags = (byte) 0;
+		optionalRegistry = false;
+
+		syncTable = null;
+	}
+
+	private static void handleCachedPacket(MinecraftClient client, ClientPlayNetworkHandler handler, PacketByteBuf buf, PacketSender sender) {
+		var identifier = buf.readIdentifier();
+		byte flags = buf.readByte();
+
+		var registry = Registries.REGISTRY.get(identifier);
+		var cachedTable = syncCache != null ? syncCache.get(identifier) : null;
+
+		if (registry instanceof SynchronizedRegistry<?> synchronizedRegistry && cachedTable != null) {
+			client.execute(() -> applySyncMap(client, handler, synchronizedRegistry, identifier, cachedTable, RegistryFlag.isOptional(flags)));
+		} else if (!RegistryFlag.isOptional(flags)) {
+			LOGGER.warn("Server asked to apply the cached mapping of registry " + identifier + ", which " + (cachedTable == null ? "isn't cached!" : "doesn't support syncing!"));
+			sendSyncFailedPacket(handler, identifier);
+			handler.getConnection().disconnect(getMessage("missing_registry", "Client is missing required registry! Mismatched mods?"));
+		}
+	}
+
+	/**
+	 * Applies sync entries to a registry and rebuilds the id-dependent client state. Must be called on the main thread.
+	 *
+	 * @return {@code true} if the map got applied, or {@code false} if the client got disconnected due to missing entries
+	 */
+	@SuppressWarnings("EqualsBetweenInconvertibleTypes")
+	private static <T> boolean applySyncMap(MinecraftClient client, ClientPlayNetworkHandler handler, SynchronizedRegistry<T> reg, Identifier registryId,
+			SyncEntryTable table, boolean optional) {
+		var remappedEntries = new ArrayList<SynchronizedRegistry.RemappedEntry<T>>();
+		var missingEntries = reg.quilt$applySyncMap(table, remappedEntries);
 
 		boolean disconnect = false;
 
-		if (!optionalRegistry) {
-			disconnect = checkMissing(handler, currentRegistryId, missingEntries);
+		if (!optional) {
+			disconnect = checkMissing(handler, registryId, missingEntries);
 		}
 
-		if (!disconnect) {
+		if (!disconnect && !remappedEntries.isEmpty()) {
+			// Past a point, rewriting the ranges which moved costs about as much as just rebuilding everything.
+			boolean fullRebuild = remappedEntries.size() > ((Registry<?>) reg).size() / 2;
+
 			if (reg == Registries.BLOCK) {
-				rebuildBlocks(client);
+				if (fullRebuild) {
+					rebuildBlocks(client);
+				} else {
+					rebuildBlocks(client, remappedEntries);
+				}
 			} else if (reg == Registries.FLUID) {
-				rebuildFluidStates();
+				if (fullRebuild) {
+					rebuildFluidStates();
+				} else {
+					rebuildStateIds(Fluid.STATE_IDS, Registries.FLUID, Fluid::getStateManager, remappedEntries);
+				}
 			} else if (reg == Registries.ITEM) {
-				rebuildItems(client);
+				if (fullRebuild) {
+					rebuildItems(client);
+				} else {
+					rebuildItems(client, remappedEntries);
+				}
 			} else if (reg == Registries.PARTICLE_TYPE) {
-				rebuildParticles(client);
+				if (fullRebuild) {
+					rebuildParticles(client);
+				} else {
+					((RebuildableIdModelHolder) client.particleManager).quilt$rebuildIds(remappedEntries);
+				}
 			}
 		}
 
-		currentRegistry = null;
-		currentRegistryId = null;
-		currentCount = 0;
-		currentFlags = (byte) 0;
-		optionalRegistry = false;
-
-		syncMap = null;
+		return !disconnect;
 	}
 
 	private static void rebuildItems(MinecraftClient client) {
@@ -212,6 +339,13 @@ private static void rebuildItems(MinecraftClient client) {
 		((RebuildableIdModelHolder) itemColors).quilt$rebuildIds();
 	}
 
+	private static void rebuildItems(MinecraftClient client, List<? extends SynchronizedRegistry.RemappedEntry<?>> remappedEntries) {
+		((RebuildableIdModelHolder) client.getItemRenderer().getModels()).quilt$rebuildIds(remappedEntries);
+
+		var itemColors = ((ItemRendererAccessor) client.getItemRenderer()).getColors();
+		((RebuildableIdModelHolder) itemColors).quilt$rebuildIds(remappedEntries);
+	}
+
 	private static void rebuildParticles(MinecraftClient client) {
 		((RebuildableIdModelHolder) client.particleManager).quilt$rebuildIds();
 	}
@@ -226,6 +360,12 @@ public static void rebuildBlocks(MinecraftClient client) {
 		}
 	}
 
+	private static void rebuildBlocks(MinecraftClient client, List<? extends SynchronizedRegistry.RemappedEntry<?>> remappedEntries) {
+		((RebuildableIdModelHolder) client.getBlockColors()).quilt$rebuildIds(remappedEntries);
+
+		rebuildStateIds(Block.STATE_IDS, Registries.BLOCK, Block::getStateManager, remappedEntries);
+	}
+
 	public static void rebuildFluidStates() {
 		SynchronizedIdList.clear(Fluid.STATE_IDS);
 
@@ -234,6 +374,107 @@ public static void rebuildFluidStates() {
 		}
 	}
 
+	/**
+	 * Updates state ids to follow the new order of their owners, only rewriting the ranges of owners which moved.
+	 * <p>
+	 * Each remapped owner moves within the range between its old and new raw id. Once overlapping ranges are merged,
+	 * every merged range holds the same owners before and after the remapping, so it spans the same state ids
+	 * and the owners outside of these ranges keep their state ids.
+	 * If the states of a range don't span a contiguous range of state ids, a full rebuild is done instead.
+	 */
+	private static <O, S extends State<O, S>> void rebuildStateIds(IdList<S> stateIds, Registry<O> registry,
+			Function<O, StateManager<O, S>> stateManagerGetter, List<? extends SynchronizedRegistry.RemappedEntry<?>> remappedEntries) {
+		// Ranges packed as the lowest raw id in the high bits and the highest one in the low bits, so they sort by their start.
+		var ranges = new long[remappedEntries.size()];
+
+		for (int i = 0; i < ranges.length; i++) {
+			var entry = remappedEntries.get(i);
+			ranges[i] = ((long) Math.min(entry.oldId(), entry.newId()) << 32) | (Math.max(entry.oldId(), entry.newId()) & 0xFFFFFFFFL);
+		}
+
+		Arrays.sort(ranges);
+
+		for (int i = 0; i < ranges.length; ) {
+			int lowestId = (int) (ranges[i] >>> 32);
+			int highestId = (int) ranges[i];
+
+			for (i++; i < ranges.length && (int) (ranges[i] >>> 32) <= highestId; i++) {
+				highestId = Math.max(highestId, (int) ranges[i]);
+			}
+
+			if (!rebuildStateIds(stateIds, registry, stateManagerGetter, lowestId, highestId)) {
+				rebuildAllStateIds(stateIds, registry, stateManagerGetter);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Rewrites the state ids of the owners of the given range of raw ids.
+	 *
+	 * @return {@code true} if the state ids were rewritten, or {@code false} if the range doesn't span contiguous state ids
+	 */
+	private static <O, S extends State<O, S>> boolean rebuildStateIds(IdList<S> stateIds, Registry<O> registry,
+			Function<O, StateManager<O, S>> stateManagerGetter, int lowestId, int highestId) {
+		// Find the state ids the owners of the range spanned before the remapping.
+		int start = Integer.MAX_VALUE;
+		int end = -1;
+		int stateCount = 0;
+
+		for (int rawId = lowestId; rawId <= highestId; rawId++) {
+			var owner = registry.get(rawId);
+
+			if (owner == null) {
+				continue;
+			}
+
+			var states = stateManagerGetter.apply(owner).getStates();
+			int firstId = stateIds.getRawId(states.get(0));
+
+			if (firstId == -1) {
+				return false;
+			}
+
+			start = Math.min(start, firstId);
+			end = Math.max(end, firstId + states.size());
+			stateCount += states.size();
+		}
+
+		if (stateCount == 0) {
+			return true;
+		} else if (end - start != stateCount) {
+			return false;
+		}
+
+		int index = start;
+		for (int rawId = lowestId; rawId <= highestId; rawId++) {
+			var owner = registry.get(rawId);
+
+			if (owner == null) {
+				continue;
+			}
+
+			for (var state : stateManagerGetter.apply(owner).getStates()) {
+				if (stateIds.get(index) != state) {
+					stateIds.set(state, index);
+				}
+
+				index++;
+			}
+		}
+
+		return true;
+	}
+
+	private static <O, S extends State<O, S>> void rebuildAllStateIds(IdList<S> stateIds, Registry<O> registry,
+			Function<O, StateManager<O, S>> stateManagerGetter) {
+		SynchronizedIdList.clear(stateIds);
+
+		for (var owner : registry) {
+			stateManagerGetter.apply(owner).getStates().forEach(stateIds::add);
+		}
+	}
+
 	public static void rebuildEverything(MinecraftClient client) {
 		rebuildBlocks(client);
 		rebuildFluidStates();
@@ -280,8 +521,11 @@ public static boolean checkMissing(ClientPlayNetworkHandler handler, Identifier
 	}
 
 	private static void handleRestorePacket(MinecraftClient client, ClientPlayNetworkHandler handler, PacketByteBuf buf, PacketSender sender) {
-		restoreSnapshot(client);
-		createSnapshot();
+		// Ordered after the registries committed on the main thread.
+		client.execute(() -> {
+			restoreSnapshot(client);
+			createSnapshot();
+		});
 	}
 
 	public static void createSnapshot() {
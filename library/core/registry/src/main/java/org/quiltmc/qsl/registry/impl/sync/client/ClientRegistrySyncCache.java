@@ -0,0 +1,206 @@
+/*
+ * Copyright 2023 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.registry.impl.sync.client;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import com.mojang.logging.LogUtils;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import net.minecraft.nbt.NbtByteArray;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.nbt.NbtIntArray;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.nbt.NbtList;
+import net.minecraft.nbt.NbtString;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.Util;
+
+import org.quiltmc.loader.api.QuiltLoader;
+import org.quiltmc.loader.api.minecraft.ClientOnly;
+import org.quiltmc.qsl.registry.impl.sync.SyncEntryTable;
+
+/**
+ * Stores the registry mappings last applied from a given server, so that unchanged registries don't need to be sent again on the next join.
+ */
+@ApiStatus.Internal
+@ClientOnly
+public final class ClientRegistrySyncCache {
+	private static final Logger LOGGER = LogUtils.getLogger();
+	private static final Path CACHE_DIRECTORY = QuiltLoader.getGameDir().resolve("quilt/registry_sync_cache");
+
+	private final Path path;
+	private final Map<Identifier, SyncEntryTable> mappings;
+	private final Map<Identifier, byte[]> hashes = new HashMap<>();
+	private boolean dirty = false;
+
+	private ClientRegistrySyncCache(Path path, Map<Identifier, SyncEntryTable> mappings) {
+		this.path = path;
+		this.mappings = mappings;
+	}
+
+	/**
+	 * Loads the cached mappings of the given server, or creates an empty cache if none exist or they cannot be read.
+	 *
+	 * @param serverAddress the address of the server
+	 * @return the cache of the server
+	 */
+	public static ClientRegistrySyncCache load(String serverAddress) {
+		var path = CACHE_DIRECTORY.resolve(serverAddress.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9._-]", "_") + ".dat");
+		var mappings = new HashMap<Identifier, SyncEntryTable>();
+
+		if (Files.exists(path)) {
+			try {
+				var root = NbtIo.readCompressed(path.toFile());
+
+				for (var registryId : root.getKeys()) {
+					mappings.put(new Identifier(registryId), readMapping(root.getCompound(registryId)));
+				}
+			} catch (Exception e) {
+				LOGGER.warn("Failed to read the registry sync cache '" + path + "', ignoring it", e);
+				mappings.clear();
+			}
+		}
+
+		return new ClientRegistrySyncCache(path, mappings);
+	}
+
+	/**
+	 * Loads the cached mappings of the given server and computes their hashes on the IO worker.
+	 *
+	 * @param serverAddress the address of the server
+	 * @return the future cache of the server
+	 * @see #load(String)
+	 */
+	public static CompletableFuture<ClientRegistrySyncCache> loadAsync(String serverAddress) {
+		return CompletableFuture.supplyAsync(() -> {
+			var cache = load(serverAddress);
+			cache.getHashes();
+			return cache;
+		}, Util.getIoWorkerExecutor());
+	}
+
+	/**
+	 * {@return the hashes of every cached registry mapping, to be sent to the server}
+	 */
+	public Map<Identifier, byte[]> getHashes() {
+		for (var entry : this.mappings.entrySet()) {
+			this.hashes.computeIfAbsent(entry.getKey(), id -> entry.getValue().hash());
+		}
+
+		return this.hashes;
+	}
+
+	public @Nullable SyncEntryTable get(Identifier registryId) {
+		return this.mappings.get(registryId);
+	}
+
+	public void put(Identifier registryId, SyncEntryTable mapping) {
+		this.mappings.put(registryId, mapping);
+		this.hashes.remove(registryId);
+		this.dirty = true;
+	}
+
+	/**
+	 * Writes the cache to disk on the IO worker if it changed since it was loaded.
+	 */
+	public void save() {
+		if (!this.dirty) {
+			return;
+		}
+
+		this.dirty = false;
+
+		var root = new NbtCompound();
+		for (var entry : this.mappings.entrySet()) {
+			root.put(entry.getKey().toString(), writeMapping(entry.getValue()));
+		}
+
+		Util.getIoWorkerExecutor().execute(() -> {
+			try {
+				Files.createDirectories(this.path.getParent());
+				NbtIo.writeCompressed(root, this.path.toFile());
+			} catch (IOException e) {
+				LOGGER.warn("Failed to write the registry sync cache '" + this.path + "'", e);
+			}
+		});
+	}
+
+	private static SyncEntryTable readMapping(NbtCompound nbt) {
+		var mapping = new SyncEntryTable();
+		var namespaces = nbt.getList("namespaces", NbtElement.STRING_TYPE);
+		var namespaceIndices = nbt.getIntArray("namespace_indices");
+		var paths = nbt.getList("paths", NbtElement.STRING_TYPE);
+		var ids = nbt.getIntArray("ids");
+		var flags = nbt.getByteArray("flags");
+
+		if (paths.size() != namespaceIndices.length || paths.size() != ids.length || paths.size() != flags.length) {
+			throw new IllegalStateException("Mismatched entry count");
+		}
+
+		for (int i = 0; i < namespaces.size(); i++) {
+			mapping.getNamespaceIndex(namespaces.getString(i));
+		}
+
+		for (int i = 0; i < ids.length; i++) {
+			if (namespaceIndices[i] < 0 || namespaceIndices[i] >= namespaces.size()) {
+				throw new IllegalStateException("Invalid namespace index " + namespaceIndices[i]);
+			}
+
+			mapping.add(namespaceIndices[i], paths.getString(i), ids[i], flags[i]);
+		}
+
+		return mapping;
+	}
+
+	private static NbtCompound writeMapping(SyncEntryTable mapping) {
+		var namespaces = new NbtList();
+		for (var namespace : mapping.getNamespaces()) {
+			namespaces.add(NbtString.of(namespace));
+		}
+
+		int size = mapping.size();
+		var namespaceIndices = new int[size];
+		var paths = new NbtList();
+		var ids = new int[size];
+		var flags = new byte[size];
+
+		for (int i = 0; i < size; i++) {
+			namespaceIndices[i] = mapping.getNamespaceIndexOf(i);
+			paths.add(NbtString.of(mapping.getPath(i)));
+			ids[i] = mapping.getRawId(i);
+			flags[i] = mapping.getFlags(i);
+		}
+
+		var nbt = new NbtCompound();
+		nbt.put("namespaces", namespaces);
+		nbt.put("namespace_indices", new NbtIntArray(namespaceIndices));
+		nbt.put("paths", paths);
+		nbt.put("ids", new NbtIntArray(ids));
+		nbt.put("flags", new NbtByteArray(flags));
+		return nbt;
+	}
+}
@@ -16,12 +16,24 @@
 
 package org.quiltmc.qsl.registry.impl.sync.client;
 
+import java.util.List;
+
 import org.jetbrains.annotations.ApiStatus;
 
 import org.quiltmc.loader.api.minecraft.ClientOnly;
+import org.quiltmc.qsl.registry.impl.sync.SynchronizedRegistry;
 
 @ApiStatus.Internal
 @ClientOnly
 public interface RebuildableIdModelHolder {
 	void quilt$rebuildIds();
+
+	/**
+	 * Rebuilds only the ids of the given remapped entries.
+	 *
+	 * @param remappedEntries the entries whose raw id changed
+	 */
+	default void quilt$rebuildIds(List<? extends SynchronizedRegistry.RemappedEntry<?>> remappedEntries) {
+		this.quilt$rebuildIds();
+	}
 }
@@ -17,12 +17,14 @@
 package org.quiltmc.qsl.registry.mixin;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import com.mojang.serialization.Lifecycle;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.objects.Object2ByteMap;
 import it.unimi.dsi.fastutil.objects.Object2ByteOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Object2IntMap;
@@ -52,6 +54,7 @@
 import org.quiltmc.qsl.registry.impl.event.RegistryEventStorage;
 import org.quiltmc.qsl.registry.impl.sync.RegistryFlag;
 import org.quiltmc.qsl.registry.impl.sync.ServerRegistrySync;
+import org.quiltmc.qsl.registry.impl.sync.SyncEntryTable;
 import org.quiltmc.qsl.registry.impl.sync.SynchronizedRegistry;
 
 /**
@@ -216,51 +219,73 @@ private void hackBecauseMixinHatesMe(RegistryKey key, Lifecycle lifecycle, boole
 	}
 
 	@Override
-	public Collection<MissingEntry> quilt$applySyncMap(Map<String, Collection<SyncEntry>> entries) {
+	public Collection<MissingEntry> quilt$applySyncMap(SyncEntryTable table, @Nullable List<RemappedEntry<V>> remappedEntries) {
 		if (this.quilt$idSnapshot == null) {
 			this.quilt$createIdSnapshot();
 		}
 
 		var missingEntries = new ArrayList<MissingEntry>();
 
-		var holders = new ArrayList<>(this.rawIdToEntry);
+		// Resolve every synced entry first while the old raw ids are still known,
+		// marking the holders that got a new id so the leftovers can be found in a single pass.
+		var oldHolders = new ObjectArrayList<>(this.rawIdToEntry);
+		var synced = new BitSet(oldHolders.size());
+		var syncedHolders = new ObjectArrayList<Holder.Reference<V>>();
+		var syncedIds = new IntArrayList();
+		var syncedOldIds = new IntArrayList();
 		int currentId = 0;
 
-		this.entryToRawId.clear();
-		this.rawIdToEntry.clear();
-
-		for (var key : entries.keySet()) {
-			for (var idEntry : entries.get(key)) {
-				var identifier = new Identifier(key, idEntry.path());
-				var holder = this.byId.get(identifier);
-
-				if (holder != null) {
-					this.entryToRawId.put(holder.value(), idEntry.rawId());
+		for (int i = 0, size = table.size(); i < size; i++) {
+			var identifier = new Identifier(table.getNamespace(i), table.getPath(i));
+			var holder = this.byId.get(identifier);
+			int rawId = table.getRawId(i);
 
-					while (this.rawIdToEntry.size() <= idEntry.rawId()) {
-						this.rawIdToEntry.add(null);
-					}
-
-					this.rawIdToEntry.set(idEntry.rawId(), holder);
+			if (holder != null) {
+				int oldId = this.entryToRawId.getInt(holder.value());
 
-					holders.remove(holder);
-					currentId = Math.max(currentId, idEntry.rawId());
-				} else {
-					missingEntries.add(new MissingEntry(identifier, idEntry.rawId(), idEntry.flags()));
+				if (oldId >= 0 && oldId < oldHolders.size() && oldHolders.get(oldId) == holder) {
+					synced.set(oldId);
 				}
+
+				syncedHolders.add(holder);
+				syncedIds.add(rawId);
+				syncedOldIds.add(oldId);
+				currentId = Math.max(currentId, rawId);
+			} else {
+				missingEntries.add(new MissingEntry(identifier, rawId, table.getFlags(i)));
 			}
 		}
 
-		while (this.rawIdToEntry.size() <= currentId + holders.size()) {
-			this.rawIdToEntry.add(null);
+		int leftoverCount = oldHolders.size() - synced.cardinality();
+
+		this.entryToRawId.clear();
+		this.rawIdToEntry.clear();
+		this.rawIdToEntry.size(currentId + leftoverCount + 1);
+
+		for (int i = 0, size = syncedHolders.size(); i < size; i++) {
+			var holder = syncedHolders.get(i);
+			int rawId = syncedIds.getInt(i);
+
+			this.entryToRawId.put(holder.value(), rawId);
+			this.rawIdToEntry.set(rawId, holder);
+
+			if (remappedEntries != null && syncedOldIds.getInt(i) != rawId) {
+				remappedEntries.add(new RemappedEntry<>(holder.value(), syncedOldIds.getInt(i), rawId));
+			}
 		}
 
-		for (var holder : holders) {
+		// Entries unknown to the server keep their relative order and are placed after the synced ones.
+		for (int i = synced.nextClearBit(0); i < oldHolders.size(); i = synced.nextClearBit(i + 1)) {
+			var holder = oldHolders.get(i);
 			if (holder == null) continue;
 
 			var id = ++currentId;
 			this.entryToRawId.put(holder.value(), id);
 			this.rawIdToEntry.set(id, holder);
+
+			if (remappedEntries != null && i != id) {
+				remappedEntries.add(new RemappedEntry<>(holder.value(), i, id));
+			}
 		}
 
 		this.holdersInOrder = null;
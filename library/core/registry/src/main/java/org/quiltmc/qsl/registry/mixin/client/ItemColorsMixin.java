@@ -16,6 +16,7 @@
 
 package org.quiltmc.qsl.registry.mixin.client;
 
+import java.util.List;
 import java.util.Map;
 
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
@@ -35,6 +36,7 @@
 
 import org.quiltmc.loader.api.minecraft.ClientOnly;
 import org.quiltmc.qsl.registry.impl.sync.SynchronizedIdList;
+import org.quiltmc.qsl.registry.impl.sync.SynchronizedRegistry;
 import org.quiltmc.qsl.registry.impl.sync.client.RebuildableIdModelHolder;
 
 @ClientOnly
@@ -62,4 +64,17 @@ public class ItemColorsMixin implements RebuildableIdModelHolder {
 			this.providers.set(entry.getValue(), Item.getRawId(entry.getKey()));
 		}
 	}
+
+	/**
+	 * Color providers are only registered for a few entries, so they are fully rebuilt, but only if one of them got remapped.
+	 */
+	@Override
+	public void quilt$rebuildIds(List<? extends SynchronizedRegistry.RemappedEntry<?>> remappedEntries) {
+		for (var entry : remappedEntries) {
+			if (this.quilt$providers.containsKey(entry.value())) {
+				this.quilt$rebuildIds();
+				return;
+			}
+		}
+	}
 }
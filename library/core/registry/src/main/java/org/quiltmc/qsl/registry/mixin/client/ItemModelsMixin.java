@@ -16,6 +16,8 @@
 
 package org.quiltmc.qsl.registry.mixin.client;
 
+import java.util.List;
+
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
@@ -26,12 +28,14 @@
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
 import net.minecraft.client.render.item.ItemModels;
+import net.minecraft.client.render.model.BakedModel;
 import net.minecraft.client.render.model.BakedModelManager;
 import net.minecraft.client.util.ModelIdentifier;
 import net.minecraft.registry.Registries;
 
 import org.quiltmc.loader.api.minecraft.ClientOnly;
 import org.quiltmc.qsl.registry.impl.sync.SynchronizedInt2ObjectMap;
+import org.quiltmc.qsl.registry.impl.sync.SynchronizedRegistry;
 import org.quiltmc.qsl.registry.impl.sync.client.RebuildableIdModelHolder;
 
 @ClientOnly
@@ -42,6 +46,14 @@ public abstract class ItemModelsMixin implements RebuildableIdModelHolder {
 	@Shadow
 	public Int2ObjectMap<ModelIdentifier> modelIds;
 
+	@Final
+	@Shadow
+	private Int2ObjectMap<BakedModel> models;
+
+	@Final
+	@Shadow
+	private BakedModelManager modelManager;
+
 	@Inject(method = "<init>", at = @At("RETURN"))
 	private void quilt$onInit(BakedModelManager bakedModelManager, CallbackInfo ci) {
 		this.modelIds = new SynchronizedInt2ObjectMap<>(Registries.ITEM, this.modelIds);
@@ -51,4 +63,24 @@ public abstract class ItemModelsMixin implements RebuildableIdModelHolder {
 	public void quilt$rebuildIds() {
 		SynchronizedInt2ObjectMap.attemptRebuildIds(this.modelIds);
 	}
+
+	/**
+	 * Rebuilds the model ids of the remapped items, and reloads only their baked models.
+	 */
+	@Override
+	public void quilt$rebuildIds(List<? extends SynchronizedRegistry.RemappedEntry<?>> remappedEntries) {
+		SynchronizedInt2ObjectMap.attemptRebuildIds(this.modelIds, remappedEntries);
+
+		for (var entry : remappedEntries) {
+			this.models.remove(entry.oldId());
+		}
+
+		for (var entry : remappedEntries) {
+			var modelId = this.modelIds.get(entry.newId());
+
+			if (modelId != null) {
+				this.models.put(entry.newId(), this.modelManager.getModel(modelId));
+			}
+		}
+	}
 }
@@ -16,6 +16,8 @@
 
 package org.quiltmc.qsl.registry.mixin.client;
 
+import java.util.List;
+
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
@@ -33,6 +35,7 @@
 
 import org.quiltmc.loader.api.minecraft.ClientOnly;
 import org.quiltmc.qsl.registry.impl.sync.SynchronizedInt2ObjectMap;
+import org.quiltmc.qsl.registry.impl.sync.SynchronizedRegistry;
 import org.quiltmc.qsl.registry.impl.sync.client.RebuildableIdModelHolder;
 
 @ClientOnly
@@ -52,4 +55,9 @@ public class ParticleManagerMixin implements RebuildableIdModelHolder {
 	public void quilt$rebuildIds() {
 		SynchronizedInt2ObjectMap.attemptRebuildIds(this.factories);
 	}
+
+	@Override
+	public void quilt$rebuildIds(List<? extends SynchronizedRegistry.RemappedEntry<?>> remappedEntries) {
+		SynchronizedInt2ObjectMap.attemptRebuildIds(this.factories, remappedEntries);
+	}
 }
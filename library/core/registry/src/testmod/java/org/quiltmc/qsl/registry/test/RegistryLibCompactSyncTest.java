@@ -0,0 +1,140 @@
+/*
+ * Copyright 2023 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.registry.test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.netty.handler.codec.DecoderException;
+
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.Registry;
+
+import org.quiltmc.loader.api.ModContainer;
+import org.quiltmc.qsl.base.api.entrypoint.ModInitializer;
+import org.quiltmc.qsl.lifecycle.api.event.ServerLifecycleEvents;
+import org.quiltmc.qsl.networking.api.PacketByteBufs;
+import org.quiltmc.qsl.registry.impl.sync.ServerRegistrySync;
+import org.quiltmc.qsl.registry.impl.sync.SyncEntryTable;
+import org.quiltmc.qsl.registry.impl.sync.SynchronizedRegistry;
+
+/**
+ * Checks that registry data written in the compact format of sync protocol version 4 reads back to the same entries.
+ */
+public class RegistryLibCompactSyncTest implements ModInitializer {
+	@Override
+	public void onInitialize(ModContainer mod) {
+		var map = new LinkedHashMap<String, Collection<SynchronizedRegistry.SyncEntry>>();
+
+		// Shared prefixes, decreasing raw ids and runs of flags.
+		map.put("minecraft", List.of(
+				new SynchronizedRegistry.SyncEntry("stone", 1, (byte) 0),
+				new SynchronizedRegistry.SyncEntry("stone_bricks", 40, (byte) 0),
+				new SynchronizedRegistry.SyncEntry("stone_slab", 3, (byte) 1),
+				new SynchronizedRegistry.SyncEntry("air", 0, (byte) 1),
+				new SynchronizedRegistry.SyncEntry("a", 2, (byte) 0)
+		));
+		map.put("quilt_registry_test_compact", List.of(
+				new SynchronizedRegistry.SyncEntry("only", Integer.MAX_VALUE, (byte) 3)
+		));
+		map.put("empty", List.of());
+
+		// Enough entries to be split over several packets.
+		var large = new ArrayList<SynchronizedRegistry.SyncEntry>();
+		var padding = "_".repeat(200);
+		for (int i = 0; i < 10000; i++) {
+			large.add(new SynchronizedRegistry.SyncEntry("entry_" + i + padding, 100 + i, (byte) (i % 7 == 0 ? 1 : 0)));
+		}
+
+		map.put("quilt_registry_test_large", large);
+
+		// Consecutive raw ids in shuffled path order, which favours writing them as a permutation.
+		var shuffled = new ArrayList<SynchronizedRegistry.SyncEntry>();
+		for (int i = 0; i < 1000; i++) {
+			shuffled.add(new SynchronizedRegistry.SyncEntry("shuffled_" + (i * 7919 % 1000), 20000 + i, (byte) 0));
+		}
+
+		map.put("quilt_registry_test_shuffled", shuffled);
+
+		assertRoundTrip("test entries", map);
+		assertMalformed("short flag runs", 1);
+		assertMalformed("long flag runs", 3);
+
+		ServerLifecycleEvents.READY.register(server -> {
+			for (var registry : Registries.REGISTRY) {
+				if (registry instanceof SynchronizedRegistry<?> synchronizedRegistry && synchronizedRegistry.quilt$requiresSyncing()) {
+					assertRoundTrip(((Registry<?>) registry).getKey().getValue().toString(), synchronizedRegistry.quilt$getSyncMap());
+				}
+			}
+		});
+	}
+
+	/**
+	 * Checks that a block of two entries whose flag runs cover the given number of entries is rejected.
+	 */
+	private static void assertMalformed(String name, int flagRunLength) {
+		var buf = PacketByteBufs.create();
+		buf.writeVarInt(1);
+		buf.writeString("quilt_registry_test_malformed");
+		buf.writeVarInt(2);
+		buf.writeVarInt(0);
+		buf.writeString("a");
+		buf.writeVarInt(0);
+		buf.writeString("b");
+		buf.writeByte(ServerRegistrySync.COMPACT_IDS_DELTAS);
+		buf.writeVarInt(0);
+		buf.writeVarInt(2);
+		buf.writeVarInt(1);
+		buf.writeVarInt(flagRunLength);
+		buf.writeByte(0);
+
+		try {
+			new SyncEntryTable().readCompactData(buf);
+		} catch (DecoderException e) {
+			return;
+		}
+
+		throw new AssertionError("Compact registry data with " + name + " was not rejected");
+	}
+
+	private static void assertRoundTrip(String name, Map<String, Collection<SynchronizedRegistry.SyncEntry>> map) {
+		var expected = SyncEntryTable.of(map);
+		var actual = new SyncEntryTable();
+		var packets = ServerRegistrySync.createCompactDataPackets(map);
+
+		for (var packet : packets) {
+			var buf = PacketByteBufs.slice(packet);
+			actual.readCompactData(buf);
+
+			if (buf.isReadable()) {
+				throw new AssertionError("Compact registry data of " + name + " has " + buf.readableBytes() + " unread bytes");
+			}
+		}
+
+		if (actual.size() != expected.size()) {
+			throw new AssertionError("Compact registry data of " + name + " has " + actual.size() + " entries instead of " + expected.size());
+		}
+
+		if (!Arrays.equals(actual.hash(), expected.hash())) {
+			throw new AssertionError("Compact registry data of " + name + " does not match the original entries");
+		}
+	}
+}
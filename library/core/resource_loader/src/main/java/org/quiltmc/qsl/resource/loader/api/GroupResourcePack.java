@@ -107,6 +107,36 @@ public void recompute() {
 		this.builtin = this.packs.stream().allMatch(ResourcePack::isBuiltin);
 	}
 
+	/**
+	 * Recomputes some cached data after the given resource pack has been inserted in the resource pack list,
+	 * without querying the namespaces of the other resource packs again.
+	 *
+	 * @param pack the inserted resource pack
+	 */
+	public void recompute(@NotNull ResourcePack pack) {
+		int packIndex = this.packs.indexOf(pack);
+
+		if (packIndex == -1) {
+			return;
+		}
+
+		for (var namespace : pack.getNamespaces(this.type)) {
+			var namespacePacks = this.namespacedPacks.computeIfAbsent(namespace, value -> new ArrayList<>());
+
+			// Both lists share the same order, so find how many packs of the namespace come before the inserted pack.
+			int position = 0;
+			for (int i = 0; i < packIndex && position < namespacePacks.size(); i++) {
+				if (namespacePacks.get(position) == this.packs.get(i)) {
+					position++;
+				}
+			}
+
+			namespacePacks.add(position, pack);
+		}
+
+		this.builtin &= pack.isBuiltin();
+	}
+
 	@Override
 	public @Nullable ResourceIoSupplier<InputStream> open(ResourceType type, Identifier id) {
 		var packs = this.namespacedPacks.get(id.getNamespace());
@@ -23,16 +23,18 @@
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.function.Function;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
 import com.google.common.base.Suppliers;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
@@ -65,8 +67,9 @@ public abstract class InMemoryResourcePack implements MutableResourcePack {
 	private static final boolean DUMP = TriState.fromProperty("quilt.resource_loader.debug.pack.dump_from_in_memory")
 			.toBooleanOrElse(QuiltLoader.isDevelopmentEnvironment());
 	private static final String VIRTUAL_ASYNC_THREADS_PROPERTY = "quilt.resource_loader.pack.virtual_async_threads";
-	private final Map<Identifier, Supplier<byte[]>> assets = new ConcurrentHashMap<>();
-	private final Map<Identifier, Supplier<byte[]>> data = new ConcurrentHashMap<>();
+	// Resources are indexed by namespace then by sorted path, so listing a directory only visits matching resources.
+	private final Map<String, ConcurrentNavigableMap<String, Supplier<byte[]>>> assets = new ConcurrentHashMap<>();
+	private final Map<String, ConcurrentNavigableMap<String, Supplier<byte[]>>> data = new ConcurrentHashMap<>();
 	private final Map<String, Supplier<byte[]>> root = new ConcurrentHashMap<>();
 
 	@Override
@@ -78,7 +81,13 @@ public abstract class InMemoryResourcePack implements MutableResourcePack {
 
 	@Override
 	public @Nullable ResourceIoSupplier<InputStream> open(ResourceType type, Identifier id) {
-		return this.openResource(this.getResourceMap(type), id);
+		var paths = this.getResourceMap(type).get(id.getNamespace());
+
+		if (paths == null) {
+			return null;
+		}
+
+		return this.openResource(paths, id.getPath());
 	}
 
 	protected <T> @Nullable ResourceIoSupplier<InputStream> openResource(Map<T, Supplier<byte[]>> map, @NotNull T key) {
@@ -99,22 +108,29 @@ public abstract class InMemoryResourcePack implements MutableResourcePack {
 
 	@Override
 	public void listResources(ResourceType type, String namespace, String startingPath, ResourceConsumer consumer) {
-		this.getResourceMap(type).entrySet().stream()
-				.filter(entry -> entry.getKey().getNamespace().equals(namespace) && entry.getKey().getPath().startsWith(startingPath))
-				.forEach(entry -> {
-					byte[] bytes = entry.getValue().get();
-
-					if (bytes != null) {
-						consumer.accept(entry.getKey(), () -> new ByteArrayInputStream(bytes));
-					}
-				});
+		var paths = this.getResourceMap(type).get(namespace);
+
+		if (paths == null) {
+			return;
+		}
+
+		// Paths sharing the starting path as a prefix are contiguous in the sorted index.
+		for (var entry : paths.tailMap(startingPath, true).entrySet()) {
+			if (!entry.getKey().startsWith(startingPath)) {
+				break;
+			}
+
+			byte[] bytes = entry.getValue().get();
+
+			if (bytes != null) {
+				consumer.accept(new Identifier(namespace, entry.getKey()), () -> new ByteArrayInputStream(bytes));
+			}
+		}
 	}
 
 	@Override
 	public @Unmodifiable Set<String> getNamespaces(ResourceType type) {
-		return this.getResourceMap(type).keySet().stream()
-				.map(Identifier::getNamespace)
-				.collect(Collectors.toUnmodifiableSet());
+		return Collections.unmodifiableSet(this.getResourceMap(type).keySet());
 	}
 
 	@Override
@@ -160,7 +176,7 @@ public void putResource(@NotNull String fileName, byte @NotNull [] resource) {
 
 	@Override
 	public void putResource(@NotNull ResourceType type, @NotNull Identifier id, byte @NotNull [] resource) {
-		this.getResourceMap(type).put(id, () -> resource);
+		this.getResourcePaths(type, id.getNamespace()).put(id.getPath(), () -> resource);
 	}
 
 	@Override
@@ -170,7 +186,7 @@ public void putResource(@NotNull String fileName, @NotNull Supplier<byte[]> reso
 
 	@Override
 	public void putResource(@NotNull ResourceType type, @NotNull Identifier id, @NotNull Supplier<byte @NotNull []> resource) {
-		this.getResourceMap(type).put(id, Suppliers.memoize(resource::get));
+		this.getResourcePaths(type, id.getNamespace()).put(id.getPath(), Suppliers.memoize(resource::get));
 	}
 
 	@Override
@@ -223,10 +239,11 @@ public void dumpTo(@NotNull Path path) {
 			Files.createDirectories(path);
 
 			this.root.forEach((p, resource) -> this.dumpResource(path, p, resource.get()));
-			this.assets.forEach((p, resource) ->
-					this.dumpResource(path, QuiltResourcePack.getResourcePath(ResourceType.CLIENT_RESOURCES, p), resource.get()));
-			this.data.forEach((p, resource) ->
-					this.dumpResource(path, QuiltResourcePack.getResourcePath(ResourceType.SERVER_DATA, p), resource.get()));
+			for (var type : ResourceType.values()) {
+				this.getResourceMap(type).forEach((namespace, paths) -> paths.forEach((p, resource) ->
+						this.dumpResource(path, QuiltResourcePack.getResourcePath(type, new Identifier(namespace, p)), resource.get())
+				));
+			}
 		} catch (IOException e) {
 			LOGGER.error("Failed to write resource pack dump from pack {} to {}.", this.getName(), path, e);
 		}
@@ -247,13 +264,17 @@ protected void dumpResource(Path parentPath, String resourcePath, byte[] resourc
 		}
 	}
 
-	private Map<Identifier, Supplier<byte[]>> getResourceMap(ResourceType type) {
+	private Map<String, ConcurrentNavigableMap<String, Supplier<byte[]>>> getResourceMap(ResourceType type) {
 		return switch (type) {
 			case CLIENT_RESOURCES -> this.assets;
 			case SERVER_DATA -> this.data;
 		};
 	}
 
+	private Map<String, Supplier<byte[]>> getResourcePaths(ResourceType type, String namespace) {
+		return this.getResourceMap(type).computeIfAbsent(namespace, ns -> new ConcurrentSkipListMap<>());
+	}
+
 	static {
 		int threads = Math.max(Runtime.getRuntime().availableProcessors() / 2 - 1, 1);
 		String threadsOverride = System.getProperty(VIRTUAL_ASYNC_THREADS_PROPERTY);
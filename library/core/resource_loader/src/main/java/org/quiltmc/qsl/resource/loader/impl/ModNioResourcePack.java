@@ -21,7 +21,6 @@
 import java.io.InputStream;
 import java.nio.file.FileSystem;
 import java.nio.file.FileSystems;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Locale;
 import java.util.Set;
@@ -47,6 +46,7 @@
 import org.quiltmc.qsl.resource.loader.impl.cache.EntryType;
 import org.quiltmc.qsl.resource.loader.impl.cache.ResourceAccess;
 import org.quiltmc.qsl.resource.loader.impl.cache.ResourceTreeCache;
+import org.quiltmc.qsl.resource.loader.impl.cache.WatchingResourceTreeCache;
 
 /**
  * A NIO implementation of a mod resource pack.
@@ -96,8 +96,12 @@ public ModNioResourcePack(@Nullable String name, ModMetadata modInfo, @Nullable
 		}
 
 		/* Cache */
-		if (DISABLE_CACHING || path.getFileSystem() == DEFAULT_FILESYSTEM || path.getFileSystem() instanceof CachedFileSystem cached && !cached.isPermanentlyReadOnly()) {
-			// The default file system means it's on-disk files that may change
+		if (DISABLE_CACHING) {
+			this.cache = new ResourceAccess(this.io);
+		} else if (path.getFileSystem() == DEFAULT_FILESYSTEM) {
+			// The default file system means it's on-disk files that may change, the cache is invalidated as they do.
+			this.cache = new WatchingResourceTreeCache(this.io);
+		} else if (path.getFileSystem() instanceof CachedFileSystem cached && !cached.isPermanentlyReadOnly()) {
 			this.cache = new ResourceAccess(this.io);
 		} else {
 			// Allows caching for mods that don't have mutable resources.
@@ -130,34 +134,31 @@ protected ResourceIoSupplier<InputStream> open(String filePath) {
 	@Override
 	public void listResources(ResourceType type, String namespace, String startingPath, ResourceConsumer consumer) {
 		String namespacePath = type.getDirectory() + '/' + namespace;
-		String nioPath = startingPath.replace("/", this.io.getSeparator());
-
-		ResourceAccess.Entry namespaceEntry = this.cache.getEntry(namespacePath);
-
-		if (namespaceEntry != null) {
-			ResourceAccess.Entry searchEntry = this.cache.getEntry(namespacePath + '/' + nioPath);
-
-			if (searchEntry != null) {
-				try (var stream = Files.walk(searchEntry.path())) {
-					stream.filter(p -> Files.isRegularFile(p) && !p.getFileName().endsWith(".mcmeta"))
-							.forEach(p -> {
-								String idPath = namespaceEntry.path().relativize(p).toString()
-										.replace(this.io.getSeparator(), "/");
-								Identifier id = Identifier.tryValidate(namespace, idPath);
-
-								if (id == null) {
-									Util.logAndPause(String.format(Locale.ROOT, "Invalid path in pack (%s [%s]): %s:%s, ignoring",
-											this.getName(), this.modInfo.id(), namespace, idPath
-									));
-								} else {
-									consumer.accept(id, ResourceIoSupplier.create(p));
-								}
-							});
-				} catch (IOException e) {
-					LOGGER.warn("findResources at " + startingPath + " in namespace " + namespace
-							+ ", mod " + this.modInfo.id() + " failed!", e);
+
+		if (this.cache.getEntryType(namespacePath) != EntryType.DIRECTORY) {
+			return;
+		}
+
+		try {
+			this.cache.walkFiles(namespacePath + '/' + startingPath, (pathName, p) -> {
+				if (p.getFileName().endsWith(".mcmeta")) {
+					return;
 				}
-			}
+
+				String idPath = pathName.substring(namespacePath.length() + 1);
+				Identifier id = Identifier.tryValidate(namespace, idPath);
+
+				if (id == null) {
+					Util.logAndPause(String.format(Locale.ROOT, "Invalid path in pack (%s [%s]): %s:%s, ignoring",
+							this.getName(), this.modInfo.id(), namespace, idPath
+					));
+				} else {
+					consumer.accept(id, ResourceIoSupplier.create(p));
+				}
+			});
+		} catch (IOException e) {
+			LOGGER.warn("findResources at " + startingPath + " in namespace " + namespace
+					+ ", mod " + this.modInfo.id() + " failed!", e);
 		}
 	}
 
@@ -168,6 +169,8 @@ public Set<String> getNamespaces(ResourceType type) {
 
 	@Override
 	public void close() {
+		this.cache.close();
+
 		if (this.closer != null) {
 			try {
 				this.closer.close();
@@ -177,6 +180,15 @@ public void close() {
 		}
 	}
 
+	/**
+	 * Closes this resource pack for good, as opposed to {@link #close()} which is called on every reload
+	 * even though mod resource packs are reused.
+	 */
+	void discard() {
+		this.cache.discard();
+		this.close();
+	}
+
 	//region metadata
 	@Override
 	public String getName() {
@@ -21,6 +21,7 @@
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.EnumMap;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
@@ -29,9 +30,16 @@
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
 import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
@@ -93,6 +101,12 @@ public final class ResourceLoaderImpl implements ResourceLoader {
 			.toBooleanOrElse(QuiltLoader.isDevelopmentEnvironment());
 	private static final boolean DEBUG_RELOADERS_ORDER = TriState.fromProperty("quilt.resource_loader.debug.reloaders_order")
 			.toBooleanOrElse(false);
+	private static final boolean DEBUG_NAMESPACE_DISCOVERY = TriState.fromProperty("quilt.resource_loader.debug.namespace_discovery")
+			.toBooleanOrElse(false);
+	/**
+	 * Represents the executor used to discover the namespaces of newly created mod resource packs in parallel.
+	 */
+	private static final ExecutorService NAMESPACE_DISCOVERY_EXECUTOR;
 
 	@ClientOnly
 	public static final ThreadLocal<Unit> EXPERIMENTAL_FEATURES_ENABLED = new ThreadLocal<>();
@@ -331,6 +345,7 @@ public static void appendModResourcePacks(List<ResourcePack> packs, ResourceType
 				? CLIENT_MOD_RESOURCE_PACKS : SERVER_MOD_RESOURCE_PACKS;
 		var existingList = modResourcePacks.get(subPath);
 		var byMod = new Reference2ObjectOpenHashMap<ModMetadata, ModNioResourcePack>();
+		var newPacks = new ArrayList<ModNioResourcePack>();
 
 		if (existingList != null) {
 			for (var pack : existingList) {
@@ -359,19 +374,70 @@ public static void appendModResourcePacks(List<ResourcePack> packs, ResourceType
 				path = childPath;
 			}
 
-			byMod.put(container.metadata(), ModNioResourcePack.ofMod(container.metadata(), path, type, null));
+			var pack = ModNioResourcePack.ofMod(container.metadata(), path, type, null);
+			byMod.put(container.metadata(), pack);
+			newPacks.add(pack);
 		}
 
+		var namespaces = discoverNamespaces(byMod.values(), type);
+
 		List<ModNioResourcePack> packList = byMod.values().stream()
-				.filter(pack -> !pack.getNamespaces(type).isEmpty())
+				.filter(pack -> !namespaces.get(pack).isEmpty())
 				.toList();
 
+		// Packs without any namespace are created again on the next reload, release the resources of the discarded ones.
+		for (var pack : newPacks) {
+			if (namespaces.get(pack).isEmpty()) {
+				pack.discard();
+			}
+		}
+
 		// Cache the pack list for the next reload.
 		modResourcePacks.put(subPath, packList);
 
 		packs.addAll(packList);
 	}
 
+	/**
+	 * Queries the namespaces of the given mod resource packs in parallel.
+	 * <p>
+	 * The discovered namespaces are returned as not every pack caches them.
+	 *
+	 * @param packs the mod resource packs
+	 * @param type  the type of resource
+	 * @return the namespaces of each pack
+	 */
+	private static Map<ModNioResourcePack, Set<String>> discoverNamespaces(Collection<ModNioResourcePack> packs, ResourceType type) {
+		var namespaces = new ConcurrentHashMap<ModNioResourcePack, Set<String>>(packs.size());
+
+		if (packs.size() < 2) {
+			for (var pack : packs) {
+				namespaces.put(pack, pack.getNamespaces(type));
+			}
+
+			return namespaces;
+		}
+
+		long start = System.nanoTime();
+
+		CompletableFuture.allOf(packs.stream().map(pack -> CompletableFuture.runAsync(() -> {
+			long packStart = System.nanoTime();
+			namespaces.put(pack, pack.getNamespaces(type));
+
+			if (DEBUG_NAMESPACE_DISCOVERY) {
+				LOGGER.info("Discovered {} namespaces of mod {} in {}ms.", type.getDirectory(), pack.modInfo.id(),
+						(System.nanoTime() - packStart) / 1_000_000.0);
+			}
+		}, NAMESPACE_DISCOVERY_EXECUTOR)).toArray(CompletableFuture[]::new)).join();
+
+		if (DEBUG_NAMESPACE_DISCOVERY) {
+			LOGGER.info("Discovered {} namespaces of {} mods in {}ms.", type.getDirectory(), packs.size(),
+					(System.nanoTime() - start) / 1_000_000.0);
+		}
+
+		return namespaces;
+	}
+
 	public static GroupResourcePack.Wrapped buildMinecraftResourcePack(ResourceType type, ResourcePack vanillaPack) {
 		// Build a list of mod resource packs.
 		var packs = new ArrayList<ResourcePack>();
@@ -382,7 +448,7 @@ public static GroupResourcePack.Wrapped buildMinecraftResourcePack(ResourceType
 
 		var context = new ResourcePackRegistrationContextImpl(type, List.of(pack), p -> {
 			packs.add(lastExtraPackIndex[0]++, p);
-			pack.recompute();
+			pack.recompute(p);
 		});
 
 		get(type).getRegisterDefaultResourcePackEvent().invoker().onRegisterPack(context);
@@ -446,6 +512,8 @@ private static boolean registerBuiltinResourcePack(ResourceType type, ModNioReso
 			builtinResourcePacks.put(pack.getName(), pack);
 			return true;
 		}
+
+		pack.discard();
 		return false;
 	}
 
@@ -500,4 +568,14 @@ public static void appendLanguageEntries(@NotNull Map<String, String> map) {
 			}
 		}
 	}
+
+	static {
+		int threads = Math.max(Math.min(Runtime.getRuntime().availableProcessors() - 1, 8), 1);
+		var executor = new ThreadPoolExecutor(threads, threads, 30L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+				new ThreadFactoryBuilder().setDaemon(true).setNameFormat("Quilt-Resource-Loader-Namespace-Discovery-%s").build()
+		);
+		// Namespace discovery only happens while building resource packs, so don't keep idle threads around.
+		executor.allowCoreThreadTimeOut(true);
+		NAMESPACE_DISCOVERY_EXECUTOR = executor;
+	}
 }
@@ -16,9 +16,13 @@
 
 package org.quiltmc.qsl.resource.loader.impl.cache;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
@@ -96,28 +100,127 @@ public EntryType getType() {
 	 */
 	public static final class Branch extends Node {
 		private final Map<String, Node> nodes = new ConcurrentHashMap<>();
+		/**
+		 * Incremented before any child is invalidated, so that a node computed from the file system
+		 * before the invalidation is not cached after it.
+		 */
+		private final AtomicInteger generation = new AtomicInteger();
+		/**
+		 * The generation at which every child of this branch was known, or {@code -1} if only some children were resolved.
+		 */
+		private volatile int listedGeneration = -1;
 
 		public Branch(Branch parent, String path) {
 			super(parent, path, EntryType.DIRECTORY);
 		}
 
 		public Branch putBranch(String name) {
-			var child = new Branch(this, name);
-			this.nodes.put(name, child);
-			return child;
+			return this.put(name, new Branch(this, name), this.generation.get());
 		}
 
 		public void putEmpty(String name) {
-			var child = new Leaf(this, name, EntryType.EMPTY);
-			this.nodes.put(name, child);
+			this.put(name, new Leaf(this, name, EntryType.EMPTY), this.generation.get());
 		}
 
 		public Leaf putFile(String name) {
-			var child = new Leaf(this, name, EntryType.FILE);
+			return this.put(name, new Leaf(this, name, EntryType.FILE), this.generation.get());
+		}
+
+		/**
+		 * Caches the given child node, unless this branch has been invalidated since the node was computed.
+		 *
+		 * @param name       the name of the child node
+		 * @param child      the child node
+		 * @param generation the generation of this branch before the node was computed
+		 * @param <N>        the type of the node
+		 * @return the child node
+		 */
+		private <N extends Node> N put(String name, N child, int generation) {
 			this.nodes.put(name, child);
+
+			// An invalidation incrementing the generation after this check also removes the node afterwards.
+			if (this.generation.get() != generation) {
+				this.nodes.remove(name, child);
+			}
+
 			return child;
 		}
 
+		/**
+		 * Removes the given child node, so that it gets computed again on next access.
+		 *
+		 * @param name the name of the child node
+		 */
+		public void remove(String name) {
+			this.generation.incrementAndGet();
+			this.nodes.remove(name);
+		}
+
+		/**
+		 * Removes every child node.
+		 */
+		public void clear() {
+			this.generation.incrementAndGet();
+			this.nodes.clear();
+		}
+
+		/**
+		 * Lists the children of this branch, populating it from the file system on first listing.
+		 *
+		 * @param io the I/O operations of the mod
+		 * @return the children of this branch, including missing entries
+		 * @throws IOException if the directory could not be listed
+		 */
+		public Collection<Node> list(ModIoOps io) throws IOException {
+			int generation = this.generation.get();
+
+			if (this.listedGeneration != generation) {
+				var directory = io.getNormalizedPath(this.isRoot() ? "" : this.getFullPath());
+
+				try (var stream = Files.list(directory)) {
+					stream.forEach(path -> {
+						// The file name may contain trailing slashes, remove them.
+						String name = path.getFileName().toString().replace(io.getSeparator(), "");
+						Node node = this.nodes.get(name);
+
+						if (node == null || node.getType() == EntryType.EMPTY) {
+							switch (io.getEntryType(path)) {
+								case DIRECTORY -> this.put(name, new Branch(this, name), generation);
+								case FILE -> this.put(name, new Leaf(this, name, EntryType.FILE), generation);
+								default -> {
+								}
+							}
+						}
+					});
+				}
+
+				this.listedGeneration = generation;
+			}
+
+			return this.nodes.values();
+		}
+
+		/**
+		 * Resolves the node at the given path, without computing any missing node.
+		 *
+		 * @param path the path relative to this branch
+		 * @return the node if it is cached, or {@code null} otherwise
+		 */
+		public @Nullable Node getCached(String path) {
+			int firstSeparator = path.indexOf('/');
+			String childName = firstSeparator == -1 ? path : path.substring(0, firstSeparator);
+
+			Node node = this.nodes.get(childName);
+
+			if (firstSeparator == -1 || node == null) {
+				return node;
+			} else if (node instanceof Branch branch) {
+				return branch.getCached(path.substring(firstSeparator + 1));
+			}
+
+			return null;
+		}
+
 		public @Nullable Node resolveOrCompute(ModIoOps io, String path) {
 			int firstSeparator = path.indexOf('/');
 			String childName = firstSeparator == -1 ? path : path.substring(0, firstSeparator);
@@ -125,6 +228,7 @@ public Leaf putFile(String name) {
 			Node node = this.nodes.get(childName);
 
 			if (node == null) {
+				int generation = this.generation.get();
 				String absolutePath = childName;
 
 				if (!this.isRoot()) {
@@ -135,11 +239,11 @@ public Leaf putFile(String name) {
 
 				switch (type) {
 					case EMPTY -> {
-						this.putEmpty(childName);
+						this.put(childName, new Leaf(this, childName, EntryType.EMPTY), generation);
 						return null;
 					}
 					case DIRECTORY -> {
-						Branch branch = this.putBranch(childName);
+						Branch branch = this.put(childName, new Branch(this, childName), generation);
 
 						if (firstSeparator != -1) {
 							return branch.resolveOrCompute(io, path.substring(firstSeparator + 1));
@@ -148,7 +252,7 @@ public Leaf putFile(String name) {
 						}
 					}
 					case FILE -> {
-						Leaf leaf = this.putFile(childName);
+						Leaf leaf = this.put(childName, new Leaf(this, childName, EntryType.FILE), generation);
 
 						if (firstSeparator == -1) {
 							return leaf;
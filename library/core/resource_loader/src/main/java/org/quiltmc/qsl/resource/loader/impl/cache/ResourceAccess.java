@@ -24,6 +24,7 @@
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.function.BiConsumer;
 
 import com.mojang.logging.LogUtils;
 import org.jetbrains.annotations.ApiStatus;
@@ -126,6 +127,42 @@ public Set<String> getNamespaces(ResourceType type) {
 		}
 	}
 
+	/**
+	 * Walks every file found at or under the given path.
+	 *
+	 * @param pathName the path to walk
+	 * @param consumer the consumer of the files, given their Minecraft-formatted path and their actual path
+	 * @throws IOException if the files could not be listed
+	 */
+	public void walkFiles(String pathName, BiConsumer<String, Path> consumer) throws IOException {
+		var entry = this.getEntry(pathName);
+
+		if (entry == null) {
+			return;
+		}
+
+		try (var stream = Files.walk(entry.path())) {
+			stream.filter(Files::isRegularFile).forEach(path -> {
+				String relativePath = entry.path().relativize(path).toString().replace(this.io.getSeparator(), "/");
+
+				consumer.accept(relativePath.isEmpty() ? pathName : pathName + '/' + relativePath, path);
+			});
+		}
+	}
+
+	/**
+	 * Releases any resource held by this access, called when the owning resource pack is closed.
+	 */
+	public void close() {
+	}
+
+	/**
+	 * Releases any resource held by this access for good, called when the owning resource pack will not be used again.
+	 */
+	public void discard() {
+		this.close();
+	}
+
 	protected void warnInvalidNamespace(String s) {
 		LOGGER.warn("Quilt NioResourcePack: ignored invalid namespace: {} in mod ID {}", s, this.io.getModMetadata().id());
 	}
@@ -16,9 +16,12 @@
 
 package org.quiltmc.qsl.resource.loader.impl.cache;
 
-import java.util.EnumMap;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
 
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
@@ -33,9 +36,9 @@
  * @author LambdAurora
  */
 @ApiStatus.Internal
-public final class ResourceTreeCache extends ResourceAccess {
+public class ResourceTreeCache extends ResourceAccess {
 	private final CacheTree.Branch tree = CacheTree.newTree();
-	private final Map<ResourceType, Set<String>> namespaces = new EnumMap<>(ResourceType.class);
+	private final Map<ResourceType, Set<String>> namespaces = new ConcurrentHashMap<>();
 
 	public ResourceTreeCache(ModIoOps io) {
 		super(io);
@@ -61,4 +64,58 @@ public Set<String> getNamespaces(ResourceType type) {
 
 		return namespaces;
 	}
+
+	@Override
+	public void walkFiles(String pathName, BiConsumer<String, Path> consumer) throws IOException {
+		var node = this.tree.resolveOrCompute(this.io, pathName);
+
+		if (node instanceof CacheTree.Branch branch) {
+			this.walkFiles(branch, pathName, consumer);
+		} else if (node != null && node.getType() == EntryType.FILE) {
+			consumer.accept(pathName, this.io.getNormalizedPath(pathName));
+		}
+	}
+
+	private void walkFiles(CacheTree.Branch branch, String pathName, BiConsumer<String, Path> consumer) throws IOException {
+		for (var child : branch.list(this.io)) {
+			String childPath = pathName + '/' + child.getPathPart();
+
+			if (child instanceof CacheTree.Branch childBranch) {
+				this.walkFiles(childBranch, childPath, consumer);
+			} else if (child.getType() == EntryType.FILE) {
+				consumer.accept(childPath, this.io.getNormalizedPath(childPath));
+			}
+		}
+	}
+
+	/**
+	 * Invalidates the cached entry at the given path, so that it gets computed again on next access.
+	 *
+	 * @param pathName the path of the entry, or an empty string to invalidate the whole tree
+	 */
+	protected void invalidate(String pathName) {
+		if (pathName.isEmpty()) {
+			this.tree.clear();
+			this.namespaces.clear();
+			return;
+		}
+
+		int lastSeparator = pathName.lastIndexOf('/');
+
+		if (lastSeparator == -1) {
+			this.tree.remove(pathName);
+		} else if (this.tree.getCached(pathName.substring(0, lastSeparator)) instanceof CacheTree.Branch parent) {
+			parent.remove(pathName.substring(lastSeparator + 1));
+		}
+
+		// Namespaces are the directories right under the resource type directories.
+		for (var type : ResourceType.values()) {
+			var directory = type.getDirectory();
+
+			if (pathName.startsWith(directory) && (pathName.length() == directory.length()
+					|| (pathName.charAt(directory.length()) == '/' && pathName.indexOf('/', directory.length() + 1) == -1))) {
+				this.namespaces.remove(type);
+			}
+		}
+	}
 }
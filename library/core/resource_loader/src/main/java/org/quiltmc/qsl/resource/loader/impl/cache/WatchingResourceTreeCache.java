@@ -0,0 +1,244 @@
+/*
+ * Copyright 2023 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.resource.loader.impl.cache;
+
+import java.io.IOException;
+import java.lang.ref.Cleaner;
+import java.lang.ref.WeakReference;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.resource.ResourceType;
+
+import org.quiltmc.qsl.resource.loader.impl.ModIoOps;
+
+/**
+ * A variant of {@link ResourceTreeCache} for on-disk resources which may change.
+ * <p>
+ * Cached entries are invalidated from a {@link WatchService} shared by every on-disk pack.
+ * If the directories cannot be watched, the whole tree is instead invalidated periodically.
+ * <p>
+ * Mod resource packs are reused across reloads even though they are closed with the resource manager,
+ * so the watch keys are kept when this cache is closed and are only cancelled once its pack is discarded,
+ * or once the cache is no longer reachable.
+ */
+@ApiStatus.Internal
+public final class WatchingResourceTreeCache extends ResourceTreeCache {
+	private static final long POLLING_INTERVAL = 2000L;
+	private static final Map<WatchKey, WatchedDirectory> WATCHED_DIRECTORIES = new ConcurrentHashMap<>();
+	private static @Nullable WatchService watchService;
+	private static boolean watchServiceUnavailable = false;
+	private static final Cleaner CLEANER = Cleaner.create();
+
+	private final Path root;
+	private final List<WatchKey> keys = new CopyOnWriteArrayList<>();
+	private volatile boolean polling;
+	private volatile boolean discarded = false;
+	private volatile long lastPoll;
+
+	public WatchingResourceTreeCache(ModIoOps io) {
+		super(io);
+		this.root = io.getNormalizedPath("");
+		this.polling = !this.watchRecursively(this.root);
+		this.lastPoll = System.currentTimeMillis();
+
+		// The cleaning action must not capture this cache, or it would never become unreachable.
+		CLEANER.register(this, new KeyCanceller(this.keys));
+	}
+
+	@Override
+	public @Nullable Entry getEntry(String pathName) {
+		this.refreshIfNeeded();
+
+		return super.getEntry(pathName);
+	}
+
+	@Override
+	public Set<String> getNamespaces(ResourceType type) {
+		this.refreshIfNeeded();
+
+		return super.getNamespaces(type);
+	}
+
+	@Override
+	public void walkFiles(String pathName, BiConsumer<String, Path> consumer) throws IOException {
+		this.refreshIfNeeded();
+
+		super.walkFiles(pathName, consumer);
+	}
+
+	@Override
+	public synchronized void discard() {
+		if (!this.discarded) {
+			this.discarded = true;
+			cancelKeys(this.keys);
+
+			// The pack isn't expected to be used again, but stay correct if it is.
+			this.polling = true;
+		}
+	}
+
+	private void refreshIfNeeded() {
+		if (this.polling) {
+			long now = System.currentTimeMillis();
+
+			if (now - this.lastPoll >= POLLING_INTERVAL) {
+				this.lastPoll = now;
+				this.invalidate("");
+			}
+		}
+	}
+
+	/**
+	 * Registers the given directory and all of its subdirectories to the watch service.
+	 *
+	 * @param directory the directory to watch
+	 * @return {@code true} if the directories are watched, or {@code false} otherwise
+	 */
+	private boolean watchRecursively(Path directory) {
+		var service = getWatchService();
+
+		if (service == null) {
+			return false;
+		}
+
+		try {
+			Files.walkFileTree(directory, new SimpleFileVisitor<>() {
+				@Override
+				public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+					var key = dir.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE);
+					WATCHED_DIRECTORIES.put(key, new WatchedDirectory(new WeakReference<>(WatchingResourceTreeCache.this), dir));
+					WatchingResourceTreeCache.this.keys.add(key);
+					return FileVisitResult.CONTINUE;
+				}
+			});
+
+			return true;
+		} catch (IOException | UnsupportedOperationException | ClosedWatchServiceException e) {
+			LOGGER.warn("Failed to watch resources of mod " + this.io.getModMetadata().id() + ", falling back to polling.", e);
+			return false;
+		}
+	}
+
+	private synchronized void onEvent(Path directory, WatchEvent<?> event) {
+		if (this.discarded) {
+			return;
+		}
+
+		if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+			this.invalidate("");
+			return;
+		}
+
+		var child = directory.resolve((Path) event.context());
+		var pathName = this.root.relativize(child).toString().replace(this.io.getSeparator(), "/");
+
+		this.invalidate(pathName);
+
+		if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(child, LinkOption.NOFOLLOW_LINKS)) {
+			this.watchRecursively(child);
+		}
+	}
+
+	private static synchronized @Nullable WatchService getWatchService() {
+		if (watchService == null && !watchServiceUnavailable) {
+			try {
+				watchService = FileSystems.getDefault().newWatchService();
+
+				var thread = new Thread(() -> processEvents(watchService), "Quilt Resource Watcher");
+				thread.setDaemon(true);
+				thread.start();
+			} catch (IOException | UnsupportedOperationException e) {
+				LOGGER.warn("Failed to create the resource watch service, on-disk resource packs will be polled instead.", e);
+				watchServiceUnavailable = true;
+			}
+		}
+
+		return watchService;
+	}
+
+	private static void processEvents(WatchService service) {
+		while (true) {
+			WatchKey key;
+
+			try {
+				key = service.take();
+			} catch (InterruptedException | ClosedWatchServiceException e) {
+				return;
+			}
+
+			var watched = WATCHED_DIRECTORIES.get(key);
+			var cache = watched == null ? null : watched.cache().get();
+
+			for (var event : key.pollEvents()) {
+				if (cache != null) {
+					cache.onEvent(watched.directory(), event);
+				}
+			}
+
+			if (watched != null && cache == null) {
+				// The cache has been garbage collected before its cleaning action ran.
+				key.cancel();
+				WATCHED_DIRECTORIES.remove(key);
+			} else if (!key.reset()) {
+				WATCHED_DIRECTORIES.remove(key);
+
+				if (cache != null) {
+					cache.keys.remove(key);
+				}
+			}
+		}
+	}
+
+	private static void cancelKeys(List<WatchKey> keys) {
+		for (var key : keys) {
+			key.cancel();
+			WATCHED_DIRECTORIES.remove(key);
+		}
+
+		keys.clear();
+	}
+
+	private record WatchedDirectory(WeakReference<WatchingResourceTreeCache> cache, Path directory) {
+	}
+
+	private record KeyCanceller(List<WatchKey> keys) implements Runnable {
+		@Override
+		public void run() {
+			cancelKeys(this.keys);
+		}
+	}
+}
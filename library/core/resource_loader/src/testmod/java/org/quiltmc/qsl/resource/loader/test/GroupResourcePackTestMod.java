@@ -0,0 +1,88 @@
+/*
+ * Copyright 2023 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.resource.loader.test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.minecraft.resource.ResourceType;
+import net.minecraft.resource.pack.ResourcePack;
+import net.minecraft.util.Identifier;
+
+import org.quiltmc.loader.api.ModContainer;
+import org.quiltmc.qsl.base.api.entrypoint.ModInitializer;
+import org.quiltmc.qsl.resource.loader.api.GroupResourcePack;
+import org.quiltmc.qsl.resource.loader.api.InMemoryResourcePack;
+
+/**
+ * Checks that inserting a resource pack in a group resource pack with {@link GroupResourcePack#recompute(ResourcePack)}
+ * gives the same packs per namespace as recomputing the whole group.
+ */
+public class GroupResourcePackTestMod implements ModInitializer {
+	@Override
+	public void onInitialize(ModContainer mod) {
+		var packs = new ArrayList<ResourcePack>();
+		packs.add(createPack("a", "first", "second"));
+		packs.add(createPack("b", "second"));
+		packs.add(createPack("c", "first", "third"));
+
+		var group = new GroupResourcePack.Wrapped(ResourceType.SERVER_DATA, createPack("base", "first"), packs, false);
+
+		insert(group, packs, 0, createPack("start", "first", "second"));
+		insert(group, packs, 3, createPack("middle", "second", "third", "new"));
+		insert(group, packs, packs.size(), createPack("end", "first", "new"));
+		insert(group, packs, 2, createPack("no_namespaces"));
+	}
+
+	private static void insert(GroupResourcePack group, List<ResourcePack> packs, int index, ResourcePack pack) {
+		packs.add(index, pack);
+		group.recompute(pack);
+
+		var incremental = getNamespacedPacks(group, packs);
+		group.recompute();
+		var full = getNamespacedPacks(group, packs);
+
+		if (!incremental.equals(full)) {
+			throw new AssertionError("Inserting " + pack.getName() + " at " + index + " gave the namespaced packs " + incremental
+					+ " instead of " + full);
+		}
+	}
+
+	private static Map<String, List<String>> getNamespacedPacks(GroupResourcePack group, List<ResourcePack> packs) {
+		var namespacedPacks = new HashMap<String, List<String>>();
+
+		for (var pack : packs) {
+			for (var namespace : pack.getNamespaces(ResourceType.SERVER_DATA)) {
+				namespacedPacks.computeIfAbsent(namespace, ns -> group.getPacks(ns).stream().map(ResourcePack::getName).toList());
+			}
+		}
+
+		return namespacedPacks;
+	}
+
+	private static ResourcePack createPack(String name, String... namespaces) {
+		var pack = new InMemoryResourcePack.Named(name);
+
+		for (var namespace : namespaces) {
+			pack.putText(ResourceType.SERVER_DATA, new Identifier(namespace, "test.json"), "{}");
+		}
+
+		return pack;
+	}
+}
@@ -142,6 +142,30 @@ interface RecipeHandler extends BaseRecipeHandler {
 			 * @param recipe the recipe
 			 */
 			void replace(Recipe<?> recipe);
+
+			/**
+			 * Replaces the recipes of the given type in a single pass.
+			 * <p>
+			 * The replacer is called for every recipe of the given type, and either returns the recipe given to it
+			 * to keep it, or a replacement recipe with the same identifier.
+			 *
+			 * @param recipeType the recipe type of the recipes to replace
+			 * @param replacer   the recipe replacer
+			 * @param <T>        the type of the recipe
+			 * @throws IllegalStateException if a replacement recipe doesn't have the same identifier as the recipe it replaces
+			 */
+			<T extends Recipe<?>> void replaceAll(RecipeType<T> recipeType, Function<T, Recipe<?>> replacer);
+
+			/**
+			 * Replaces recipes in a single pass.
+			 * <p>
+			 * The replacer is called for every recipe, and either returns the recipe given to it
+			 * to keep it, or a replacement recipe with the same identifier.
+			 *
+			 * @param replacer the recipe replacer
+			 * @throws IllegalStateException if a replacement recipe doesn't have the same identifier as the recipe it replaces
+			 */
+			void replaceAll(Function<Recipe<?>, Recipe<?>> replacer);
 		}
 	}
 
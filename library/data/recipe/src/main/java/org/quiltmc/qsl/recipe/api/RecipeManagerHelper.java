@@ -16,7 +16,13 @@
 
 package org.quiltmc.qsl.recipe.api;
 
+import java.util.Optional;
+
+import net.minecraft.inventory.Inventory;
 import net.minecraft.recipe.Recipe;
+import net.minecraft.recipe.RecipeManager;
+import net.minecraft.recipe.RecipeType;
+import net.minecraft.world.World;
 
 import org.quiltmc.qsl.recipe.impl.RecipeManagerImpl;
 
@@ -88,4 +94,27 @@ public static void modifyRecipes(RecipeLoadingEvents.ModifyRecipesCallback callb
 	public static void removeRecipes(RecipeLoadingEvents.RemoveRecipesCallback callback) {
 		RecipeLoadingEvents.REMOVE.register(callback);
 	}
+
+	/**
+	 * Finds the first recipe of the given type which matches the given inventory.
+	 * <p>
+	 * This is equivalent to {@link RecipeManager#getFirstMatch(RecipeType, Inventory, World)}, but only tests the recipes
+	 * which have an ingredient matching one of the items in the inventory, using an index built on the first lookup
+	 * of each recipe type after the recipes are loaded.
+	 * Recipes whose matching logic isn't known to be based on their ingredients are always tested.
+	 * <p>
+	 * The vanilla method can be made to use the index by setting the {@code quilt.recipe.indexed_lookup} system property to {@code true}.
+	 *
+	 * @param recipeManager the recipe manager
+	 * @param type          the type of the recipe
+	 * @param inventory     the inventory to match
+	 * @param world         the world
+	 * @param <C>           the type of the inventory
+	 * @param <T>           the type of the recipe
+	 * @return the first matching recipe, in the same order as the vanilla lookup
+	 */
+	public static <C extends Inventory, T extends Recipe<C>> Optional<T> getFirstMatch(RecipeManager recipeManager,
+			RecipeType<T> type, C inventory, World world) {
+		return RecipeManagerImpl.getFirstMatch(recipeManager, type, inventory, world);
+	}
 }
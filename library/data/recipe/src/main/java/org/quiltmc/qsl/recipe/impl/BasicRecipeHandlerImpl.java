@@ -20,6 +20,7 @@
 import java.util.Collections;
 import java.util.Map;
 
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -35,23 +36,43 @@ class BasicRecipeHandlerImpl implements BaseRecipeHandler {
 	final RecipeManager recipeManager;
 	final Map<RecipeType<?>, Map<Identifier, Recipe<?>>> recipes;
 	final Map<Identifier, Recipe<?>> globalRecipes;
+	/**
+	 * The type of each recipe, which must be kept in sync with {@link #recipes} and {@link #globalRecipes}.
+	 */
+	final Map<Identifier, RecipeType<?>> recipeTypes;
 	private final DynamicRegistryManager registryManager;
 
 	BasicRecipeHandlerImpl(RecipeManager recipeManager, Map<RecipeType<?>, Map<Identifier, Recipe<?>>> recipes,
-			Map<Identifier, Recipe<?>> globalRecipes, DynamicRegistryManager registryManager) {
+			Map<Identifier, Recipe<?>> globalRecipes, Map<Identifier, RecipeType<?>> recipeTypes,
+			DynamicRegistryManager registryManager) {
 		this.recipeManager = recipeManager;
 		this.recipes = recipes;
 		this.globalRecipes = globalRecipes;
+		this.recipeTypes = recipeTypes;
 		this.registryManager = registryManager;
 	}
 
+	/**
+	 * Indexes the type of each of the given recipes.
+	 *
+	 * @param recipes the recipes, grouped by type
+	 * @return the map from recipe identifiers to their types
+	 */
+	static Map<Identifier, RecipeType<?>> indexRecipeTypes(Map<RecipeType<?>, Map<Identifier, Recipe<?>>> recipes) {
+		var recipeTypes = new Object2ObjectOpenHashMap<Identifier, RecipeType<?>>();
+
+		for (var entry : recipes.entrySet()) {
+			for (var id : entry.getValue().keySet()) {
+				recipeTypes.putIfAbsent(id, entry.getKey());
+			}
+		}
+
+		return recipeTypes;
+	}
+
 	@Override
 	public @Nullable RecipeType<?> getTypeOf(Identifier id) {
-		return this.recipes.entrySet().stream()
-				.filter(entry -> entry.getValue().containsKey(id))
-				.findFirst()
-				.map(Map.Entry::getKey)
-				.orElse(null);
+		return this.recipeTypes.get(id);
 	}
 
 	@Override
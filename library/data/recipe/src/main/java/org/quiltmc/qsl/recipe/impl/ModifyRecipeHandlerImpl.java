@@ -16,7 +16,10 @@
 
 package org.quiltmc.qsl.recipe.impl;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 import org.jetbrains.annotations.ApiStatus;
 
@@ -33,8 +36,9 @@ final class ModifyRecipeHandlerImpl extends BasicRecipeHandlerImpl implements Re
 	int counter = 0;
 
 	ModifyRecipeHandlerImpl(RecipeManager recipeManager, Map<RecipeType<?>, Map<Identifier, Recipe<?>>> recipes,
-			Map<Identifier, Recipe<?>> globalRecipes, DynamicRegistryManager registryManager) {
-		super(recipeManager, recipes, globalRecipes, registryManager);
+			Map<Identifier, Recipe<?>> globalRecipes, Map<Identifier, RecipeType<?>> recipeTypes,
+			DynamicRegistryManager registryManager) {
+		super(recipeManager, recipes, globalRecipes, recipeTypes, registryManager);
 	}
 
 	private void add(Recipe<?> recipe) {
@@ -47,6 +51,7 @@ private void add(Recipe<?> recipe) {
 
 		type.put(recipe.getId(), recipe);
 		this.globalRecipes.put(recipe.getId(), recipe);
+		this.recipeTypes.put(recipe.getId(), recipe.getType());
 	}
 
 	@Override
@@ -78,4 +83,64 @@ public void replace(Recipe<?> recipe) {
 
 		this.counter++;
 	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T extends Recipe<?>> void replaceAll(RecipeType<T> recipeType, Function<T, Recipe<?>> replacer) {
+		var moved = new ArrayList<Recipe<?>>();
+		this.replaceAll((Map<Identifier, T>) this.recipes.get(recipeType), replacer, moved);
+		moved.forEach(this::add);
+	}
+
+	@Override
+	public void replaceAll(Function<Recipe<?>, Recipe<?>> replacer) {
+		// Recipes changing type are only moved at the end so that they are not visited twice.
+		var moved = new ArrayList<Recipe<?>>();
+
+		for (var recipes : this.recipes.values()) {
+			this.replaceAll(recipes, replacer, moved);
+		}
+
+		moved.forEach(this::add);
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T extends Recipe<?>> void replaceAll(Map<Identifier, T> recipeMap, Function<T, Recipe<?>> replacer, List<Recipe<?>> moved) {
+		if (recipeMap == null) return;
+
+		var it = recipeMap.entrySet().iterator();
+
+		while (it.hasNext()) {
+			var entry = it.next();
+			var recipe = entry.getValue();
+			var replacement = replacer.apply(recipe);
+
+			if (replacement == recipe) {
+				continue;
+			}
+
+			if (!entry.getKey().equals(replacement.getId())) {
+				throw new IllegalStateException("The recipe " + replacement.getId() + " tried to replace " + entry.getKey());
+			}
+
+			if (replacement.getType() == this.recipeTypes.get(entry.getKey())) {
+				if (RecipeManagerImpl.DEBUG_MODE) {
+					RecipeManagerImpl.LOGGER.info("Replace recipe {} with same type {} in modify phase.", replacement.getId(), replacement.getType());
+				}
+
+				entry.setValue((T) replacement);
+				this.globalRecipes.put(replacement.getId(), replacement);
+			} else {
+				if (RecipeManagerImpl.DEBUG_MODE) {
+					RecipeManagerImpl.LOGGER.info("Replace new recipe {} with type {} (and old type {}) in modify phase.",
+							replacement.getId(), replacement.getType(), recipe.getType());
+				}
+
+				it.remove();
+				moved.add(replacement);
+			}
+
+			this.counter++;
+		}
+	}
 }
@@ -0,0 +1,337 @@
+/*
+ * Copyright 2023 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.recipe.impl;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.mojang.datafixers.util.Pair;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.inventory.Inventory;
+import net.minecraft.item.Item;
+import net.minecraft.recipe.BlastingRecipe;
+import net.minecraft.recipe.CampfireCookingRecipe;
+import net.minecraft.recipe.Ingredient;
+import net.minecraft.recipe.Recipe;
+import net.minecraft.recipe.RecipeType;
+import net.minecraft.recipe.ShapedRecipe;
+import net.minecraft.recipe.ShapelessRecipe;
+import net.minecraft.recipe.SmeltingRecipe;
+import net.minecraft.recipe.SmokingRecipe;
+import net.minecraft.recipe.StonecuttingRecipe;
+import net.minecraft.util.Identifier;
+import net.minecraft.world.World;
+
+/**
+ * Represents an index of the recipes of a {@link net.minecraft.recipe.RecipeManager} by the items of their ingredients.
+ * <p>
+ * Each recipe type is indexed on its first lookup rather than when the recipes are loaded,
+ * as ingredients cache their matching stacks the first time they are queried and item tags are only bound
+ * after the recipes are applied.
+ */
+@ApiStatus.Internal
+public final class RecipeIndex {
+	/**
+	 * The recipe classes whose {@code matches} method is known to require every non-empty ingredient to be present in the inventory.
+	 * Any other recipe, including subclasses of those, is always tested.
+	 */
+	private static final Set<Class<?>> INDEXABLE_RECIPES = Set.of(
+			ShapedRecipe.class, ShapelessRecipe.class,
+			SmeltingRecipe.class, BlastingRecipe.class, SmokingRecipe.class, CampfireCookingRecipe.class,
+			StonecuttingRecipe.class
+	);
+
+	/**
+	 * The scratch space of the lookups of each thread, to not allocate on every lookup.
+	 */
+	private static final ThreadLocal<Candidates> CANDIDATES = ThreadLocal.withInitial(Candidates::new);
+
+	private final Map<RecipeType<?>, Map<Identifier, Recipe<?>>> recipes;
+	private final Map<RecipeType<?>, TypeIndex> types = new ConcurrentHashMap<>();
+
+	public RecipeIndex(Map<RecipeType<?>, Map<Identifier, Recipe<?>>> recipes) {
+		this.recipes = recipes;
+	}
+
+	/**
+	 * {@return {@code true} if this index has been built from the given recipes, or {@code false} otherwise}
+	 *
+	 * @param recipes the recipes of the recipe manager
+	 */
+	public boolean isFor(Map<RecipeType<?>, Map<Identifier, Recipe<?>>> recipes) {
+		return this.recipes == recipes;
+	}
+
+	/**
+	 * Finds the first recipe of the given type which matches the given inventory, in the same order as
+	 * {@link net.minecraft.recipe.RecipeManager#getFirstMatch(RecipeType, Inventory, World)}.
+	 *
+	 * @param type      the type of the recipe
+	 * @param inventory the inventory to match
+	 * @param world     the world
+	 * @param <C>       the type of the inventory
+	 * @param <T>       the type of the recipe
+	 * @return the first matching recipe if any
+	 */
+	@SuppressWarnings("unchecked")
+	public <C extends Inventory, T extends Recipe<C>> Optional<T> getFirstMatch(RecipeType<T> type, C inventory, World world) {
+		var index = this.getTypeIndex(type);
+		int match = index.findFirstMatch(inventory, world);
+		return match == -1 ? Optional.empty() : Optional.of((T) index.recipes[match]);
+	}
+
+	/**
+	 * Finds the first recipe of the given type which matches the given inventory, testing the recipe of the given identifier first,
+	 * in the same order as {@link net.minecraft.recipe.RecipeManager#getFirstMatch(RecipeType, Inventory, World, Identifier)}.
+	 *
+	 * @param type      the type of the recipe
+	 * @param inventory the inventory to match
+	 * @param world     the world
+	 * @param id        the identifier of the recipe to test first, usually the last matching recipe
+	 * @param <C>       the type of the inventory
+	 * @param <T>       the type of the recipe
+	 * @return the identifier and the first matching recipe if any
+	 */
+	@SuppressWarnings("unchecked")
+	public <C extends Inventory, T extends Recipe<C>> Optional<Pair<Identifier, T>> getFirstMatch(RecipeType<T> type, C inventory,
+			World world, @Nullable Identifier id) {
+		if (id != null) {
+			var recipe = (T) this.recipes.getOrDefault(type, Map.of()).get(id);
+
+			if (recipe != null && recipe.matches(inventory, world)) {
+				return Optional.of(Pair.of(id, recipe));
+			}
+		}
+
+		var index = this.getTypeIndex(type);
+		int match = index.findFirstMatch(inventory, world);
+		return match == -1 ? Optional.empty() : Optional.of(Pair.of(index.ids[match], (T) index.recipes[match]));
+	}
+
+	private TypeIndex getTypeIndex(RecipeType<?> type) {
+		return this.types.computeIfAbsent(type, this::buildTypeIndex);
+	}
+
+	private TypeIndex buildTypeIndex(RecipeType<?> type) {
+		var typeRecipes = this.recipes.getOrDefault(type, Map.of());
+		var ids = new Identifier[typeRecipes.size()];
+		var recipes = new Recipe<?>[typeRecipes.size()];
+		int count = 0;
+
+		for (var entry : typeRecipes.entrySet()) {
+			ids[count] = entry.getKey();
+			recipes[count] = entry.getValue();
+			count++;
+		}
+
+		var candidates = new Reference2ObjectOpenHashMap<Item, IntArrayList>();
+		var unindexed = new IntArrayList();
+
+		for (int i = 0; i < recipes.length; i++) {
+			var ingredient = getKeyIngredient(recipes[i]);
+
+			if (ingredient == null) {
+				unindexed.add(i);
+				continue;
+			}
+
+			for (var stack : ingredient.getMatchingStacks()) {
+				var list = candidates.computeIfAbsent(stack.getItem(), item -> new IntArrayList());
+
+				// Matching stacks may hold the same item several times.
+				if (list.isEmpty() || list.getInt(list.size() - 1) != i) {
+					list.add(i);
+				}
+			}
+		}
+
+		var byItem = new Reference2ObjectOpenHashMap<Item, int[]>(candidates.size());
+
+		for (var entry : candidates.reference2ObjectEntrySet()) {
+			byItem.put(entry.getKey(), entry.getValue().toIntArray());
+		}
+
+		return new TypeIndex(ids, recipes, byItem, unindexed.toIntArray());
+	}
+
+	/**
+	 * Gets the ingredient a recipe is indexed by, which is its non-empty ingredient matching the fewest items.
+	 *
+	 * @param recipe the recipe
+	 * @return the ingredient to index the recipe by, or {@code null} if the recipe has to always be tested
+	 */
+	private static @Nullable Ingredient getKeyIngredient(Recipe<?> recipe) {
+		if (!INDEXABLE_RECIPES.contains(recipe.getClass())) {
+			return null;
+		}
+
+		Ingredient key = null;
+
+		for (var ingredient : recipe.getIngredients()) {
+			if (ingredient.isEmpty()) {
+				continue;
+			}
+
+			if (key == null || ingredient.getMatchingStacks().length < key.getMatchingStacks().length) {
+				key = ingredient;
+			}
+		}
+
+		return key;
+	}
+
+	/**
+	 * Represents the index of a single recipe type.
+	 *
+	 * @param ids       the identifiers of the recipes of the type, in the iteration order of the recipe manager
+	 * @param recipes   the recipes of the type, in the iteration order of the recipe manager
+	 * @param byItem    the sorted indices of the candidate recipes of each item
+	 * @param unindexed the sorted indices of the recipes which are always tested
+	 */
+	private record TypeIndex(Identifier[] ids, Recipe<?>[] recipes, Reference2ObjectMap<Item, int[]> byItem, int[] unindexed) {
+		/**
+		 * Finds the first recipe which matches the given inventory.
+		 * <p>
+		 * The candidate lists of the items of the inventory are already sorted, so they are merged in order
+		 * without collecting them first.
+		 *
+		 * @param inventory the inventory to match
+		 * @param world     the world
+		 * @return the index of the first matching recipe, or {@code -1} if none match
+		 */
+		@SuppressWarnings("unchecked")
+		int findFirstMatch(Inventory inventory, World world) {
+			var candidates = CANDIDATES.get();
+
+			if (candidates.inUse) {
+				// A recipe looked up other recipes while being tested.
+				candidates = new Candidates();
+			}
+
+			candidates.inUse = true;
+
+			try {
+				candidates.add(null, this.unindexed);
+
+				for (int slot = 0; slot < inventory.size(); slot++) {
+					var stack = inventory.getStack(slot);
+
+					if (!stack.isEmpty() && !candidates.hasItem(stack.getItem())) {
+						int[] itemCandidates = this.byItem.get(stack.getItem());
+						candidates.add(stack.getItem(), itemCandidates != null ? itemCandidates : IntArrays.EMPTY_ARRAY);
+					}
+				}
+
+				int last = -1;
+				int next;
+
+				while ((next = candidates.pollMin()) != -1) {
+					// The same recipe may be a candidate of several items.
+					if (next == last) {
+						continue;
+					}
+
+					last = next;
+
+					if (((Recipe<Inventory>) this.recipes[next]).matches(inventory, world)) {
+						return next;
+					}
+				}
+
+				return -1;
+			} finally {
+				candidates.clear();
+			}
+		}
+	}
+
+	/**
+	 * Represents the sorted candidate lists of a lookup, merged in ascending order.
+	 */
+	private static final class Candidates {
+		private Item[] items = new Item[16];
+		private int[][] lists = new int[16][];
+		private int[] positions = new int[16];
+		private int size;
+		private boolean inUse;
+
+		boolean hasItem(Item item) {
+			// Starts at 1, the first list is the unindexed recipes.
+			for (int i = 1; i < this.size; i++) {
+				if (this.items[i] == item) {
+					return true;
+				}
+			}
+
+			return false;
+		}
+
+		void add(@Nullable Item item, int[] list) {
+			if (this.size == this.lists.length) {
+				this.items = Arrays.copyOf(this.items, this.size * 2);
+				this.lists = Arrays.copyOf(this.lists, this.size * 2);
+				this.positions = Arrays.copyOf(this.positions, this.size * 2);
+			}
+
+			this.items[this.size] = item;
+			this.lists[this.size] = list;
+			this.positions[this.size] = 0;
+			this.size++;
+		}
+
+		/**
+		 * {@return the smallest remaining candidate, removing it from its list, or {@code -1} if no candidates remain}
+		 */
+		int pollMin() {
+			int min = Integer.MAX_VALUE;
+			int minList = -1;
+
+			for (int i = 0; i < this.size; i++) {
+				int position = this.positions[i];
+
+				if (position < this.lists[i].length && this.lists[i][position] < min) {
+					min = this.lists[i][position];
+					minList = i;
+				}
+			}
+
+			if (minList == -1) {
+				return -1;
+			}
+
+			this.positions[minList]++;
+			return min;
+		}
+
+		void clear() {
+			// Do not keep the index of previous recipes alive.
+			Arrays.fill(this.items, 0, this.size, null);
+			Arrays.fill(this.lists, 0, this.size, null);
+			this.size = 0;
+			this.inUse = false;
+		}
+	}
+}
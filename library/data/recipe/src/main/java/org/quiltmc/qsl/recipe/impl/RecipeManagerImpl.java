@@ -23,6 +23,8 @@
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.gson.JsonElement;
@@ -33,14 +35,19 @@
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 
+import net.minecraft.inventory.Inventory;
 import net.minecraft.recipe.Recipe;
 import net.minecraft.recipe.RecipeManager;
 import net.minecraft.recipe.RecipeType;
 import net.minecraft.registry.DynamicRegistryManager;
 import net.minecraft.registry.Registries;
 import net.minecraft.util.Identifier;
+import net.minecraft.util.JsonHelper;
+import net.minecraft.util.Util;
+import net.minecraft.world.World;
 
 import org.quiltmc.loader.api.QuiltLoader;
 import org.quiltmc.qsl.base.api.util.TriState;
@@ -57,6 +64,20 @@ public final class RecipeManagerImpl implements RegistryEvents.DynamicRegistryLo
 	private static final Map<Identifier, Recipe<?>> STATIC_RECIPES = new Object2ObjectOpenHashMap<>();
 	static final boolean DEBUG_MODE = TriState.fromProperty("quilt.recipe.debug").toBooleanOrElse(QuiltLoader.isDevelopmentEnvironment());
 	private static final boolean DUMP_MODE = Boolean.getBoolean("quilt.recipe.dump");
+	/**
+	 * Whether {@link RecipeManager#getFirstMatch(RecipeType, Inventory, World)}
+	 * and {@link RecipeManager#getFirstMatch(RecipeType, Inventory, World, Identifier)} should use the ingredient index.
+	 */
+	public static final boolean INDEXED_LOOKUP = TriState.fromProperty("quilt.recipe.indexed_lookup").toBooleanOrElse(false);
+	/**
+	 * Whether recipes are deserialized in parallel before being added to the recipe manager in their usual order.
+	 * <p>
+	 * This is opt-in as it runs every {@link net.minecraft.recipe.RecipeSerializer#read(Identifier, JsonObject)}
+	 * on the worker executor, which requires all the recipe serializers in use to be thread-safe.
+	 */
+	private static final boolean PARALLEL_DESERIALIZATION = TriState.fromProperty("quilt.recipe.parallel_deserialization")
+			.toBooleanOrElse(false);
+	private static final int DESERIALIZATION_CHUNK_SIZE = 256;
 	static final Logger LOGGER = LogUtils.getLogger();
 	private static DynamicRegistryManager currentRegistryManager;
 
@@ -67,6 +88,11 @@ public static void registerStaticRecipe(Recipe<?> recipe) {
 		}
 	}
 
+	public static <C extends Inventory, T extends Recipe<C>> Optional<T> getFirstMatch(RecipeManager recipeManager,
+			RecipeType<T> type, C inventory, World world) {
+		return ((RecipeManagerExtensions) recipeManager).quilt$getRecipeIndex().getFirstMatch(type, inventory, world);
+	}
+
 	public static void apply(Map<Identifier, JsonElement> map,
 			Map<RecipeType<?>, ImmutableMap.Builder<Identifier, Recipe<?>>> builderMap,
 			ImmutableMap.Builder<Identifier, Recipe<?>> globalRecipeMapBuilder) {
@@ -76,14 +102,57 @@ public static void apply(Map<Identifier, JsonElement> map,
 		LOGGER.info("Registered {} custom recipes.", handler.registered);
 	}
 
+	/**
+	 * Deserializes the given recipes on the worker executor.
+	 * <p>
+	 * The results are not added to the recipe manager here, they are instead picked up in order by the vanilla loading loop,
+	 * which keeps the insertion order and the error reporting identical to a serial deserialization.
+	 *
+	 * @param map the recipe JSON elements
+	 * @return the deserialized recipes, or {@code null} if parallel deserialization is disabled
+	 */
+	@SuppressWarnings("unchecked")
+	public static @Nullable Map<Identifier, DeserializedRecipe> deserializeRecipes(Map<Identifier, JsonElement> map) {
+		if (!PARALLEL_DESERIALIZATION) {
+			return null;
+		}
+
+		var entries = (Map.Entry<Identifier, JsonElement>[]) map.entrySet().toArray(new Map.Entry[0]);
+		var results = new DeserializedRecipe[entries.length];
+		var tasks = new CompletableFuture<?>[(entries.length + DESERIALIZATION_CHUNK_SIZE - 1) / DESERIALIZATION_CHUNK_SIZE];
+
+		for (int task = 0; task < tasks.length; task++) {
+			int start = task * DESERIALIZATION_CHUNK_SIZE;
+			int end = Math.min(start + DESERIALIZATION_CHUNK_SIZE, entries.length);
+
+			tasks[task] = CompletableFuture.runAsync(() -> {
+				for (int i = start; i < end; i++) {
+					results[i] = DeserializedRecipe.deserialize(entries[i].getKey(), entries[i].getValue());
+				}
+			}, Util.getMainWorkerExecutor());
+		}
+
+		CompletableFuture.allOf(tasks).join();
+
+		var deserialized = new Object2ObjectOpenHashMap<Identifier, DeserializedRecipe>(entries.length);
+
+		for (int i = 0; i < entries.length; i++) {
+			deserialized.put(entries[i].getKey(), results[i]);
+		}
+
+		return deserialized;
+	}
+
 	public static void applyModifications(RecipeManager recipeManager,
 			Map<RecipeType<?>, Map<Identifier, Recipe<?>>> recipes,
 			Map<Identifier, Recipe<?>> globalRecipes) {
-		var handler = new ModifyRecipeHandlerImpl(recipeManager, recipes, globalRecipes, currentRegistryManager);
+		var recipeTypes = BasicRecipeHandlerImpl.indexRecipeTypes(recipes);
+
+		var handler = new ModifyRecipeHandlerImpl(recipeManager, recipes, globalRecipes, recipeTypes, currentRegistryManager);
 		RecipeLoadingEvents.MODIFY.invoker().modifyRecipes(handler);
 		LOGGER.info("Modified {} recipes.", handler.counter);
 
-		var removeHandler = new RemoveRecipeHandlerImpl(recipeManager, recipes, globalRecipes, currentRegistryManager);
+		var removeHandler = new RemoveRecipeHandlerImpl(recipeManager, recipes, globalRecipes, recipeTypes, currentRegistryManager);
 		RecipeLoadingEvents.REMOVE.invoker().removeRecipes(removeHandler);
 		LOGGER.info("Removed {} recipes.", removeHandler.counter);
 
@@ -162,4 +231,33 @@ private static void dump(Map<Identifier, Recipe<?>> recipes) {
 	public void onDynamicRegistryLoaded(@NotNull DynamicRegistryManager registryManager) {
 		currentRegistryManager = registryManager;
 	}
+
+	/**
+	 * Represents the outcome of the deserialization of a recipe.
+	 *
+	 * @param recipe the deserialized recipe, or {@code null} if the deserialization failed
+	 * @param error  the exception thrown by the deserialization, or {@code null} if it succeeded
+	 */
+	public record DeserializedRecipe(@Nullable Recipe<?> recipe, @Nullable RuntimeException error) {
+		static DeserializedRecipe deserialize(Identifier id, JsonElement json) {
+			try {
+				return new DeserializedRecipe(RecipeManager.deserialize(id, JsonHelper.asObject(json, "top element")), null);
+			} catch (RuntimeException e) {
+				return new DeserializedRecipe(null, e);
+			}
+		}
+
+		/**
+		 * {@return the deserialized recipe}
+		 *
+		 * @throws RuntimeException the exception thrown by the deserialization if it failed
+		 */
+		public Recipe<?> get() {
+			if (this.error != null) {
+				throw this.error;
+			}
+
+			return this.recipe;
+		}
+	}
 }
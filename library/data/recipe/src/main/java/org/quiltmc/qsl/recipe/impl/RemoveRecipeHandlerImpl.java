@@ -34,8 +34,9 @@ final class RemoveRecipeHandlerImpl extends BasicRecipeHandlerImpl implements Re
 	int counter = 0;
 
 	RemoveRecipeHandlerImpl(RecipeManager recipeManager, Map<RecipeType<?>, Map<Identifier, Recipe<?>>> recipes,
-			Map<Identifier, Recipe<?>> globalRecipes, DynamicRegistryManager registryManager) {
-		super(recipeManager, recipes, globalRecipes, registryManager);
+			Map<Identifier, Recipe<?>> globalRecipes, Map<Identifier, RecipeType<?>> recipeTypes,
+			DynamicRegistryManager registryManager) {
+		super(recipeManager, recipes, globalRecipes, recipeTypes, registryManager);
 	}
 
 	@Override
@@ -48,6 +49,7 @@ public void remove(Identifier id) {
 
 		if (this.recipes.get(recipeType).remove(id) != null) {
 			this.globalRecipes.remove(id);
+			this.recipeTypes.remove(id);
 
 			if (RecipeManagerImpl.DEBUG_MODE) {
 				RecipeManagerImpl.LOGGER.info("Remove recipe {} with type {} in removal phase.", id, recipeType);
@@ -84,6 +86,7 @@ private <T extends Recipe<?>> void removeIf(Map<Identifier, T> recipeMap, Predic
 				}
 
 				this.globalRecipes.remove(entry.getKey());
+				this.recipeTypes.remove(entry.getKey());
 				it.remove();
 				this.counter++;
 			}
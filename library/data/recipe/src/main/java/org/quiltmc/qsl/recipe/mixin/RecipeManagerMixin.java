@@ -18,36 +18,52 @@
 
 import java.util.Collections;
 import java.util.Map;
+import java.util.Optional;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.mojang.datafixers.util.Pair;
+import org.jetbrains.annotations.Nullable;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Overwrite;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.Redirect;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 import org.spongepowered.asm.mixin.injection.callback.LocalCapture;
 
+import net.minecraft.inventory.Inventory;
 import net.minecraft.recipe.Recipe;
 import net.minecraft.recipe.RecipeManager;
 import net.minecraft.recipe.RecipeType;
 import net.minecraft.resource.ResourceManager;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.profiler.Profiler;
+import net.minecraft.world.World;
 
 import org.quiltmc.qsl.recipe.impl.ImmutableMapBuilderUtil;
+import org.quiltmc.qsl.recipe.impl.RecipeIndex;
+import org.quiltmc.qsl.recipe.impl.RecipeManagerExtensions;
 import org.quiltmc.qsl.recipe.impl.RecipeManagerImpl;
 
 @Mixin(RecipeManager.class)
-public class RecipeManagerMixin {
+public class RecipeManagerMixin implements RecipeManagerExtensions {
 	@Shadow
 	private Map<RecipeType<?>, Map<Identifier, Recipe<?>>> recipes;
 
 	@Shadow
 	private Map<Identifier, Recipe<?>> recipeFlatMap;
 
+	@Unique
+	private volatile RecipeIndex quilt$recipeIndex;
+
+	@Unique
+	private Map<Identifier, RecipeManagerImpl.DeserializedRecipe> quilt$deserializedRecipes;
+
 	@Inject(
 			method = "apply(Ljava/util/Map;Lnet/minecraft/resource/ResourceManager;Lnet/minecraft/util/profiler/Profiler;)V",
 			at = @At(value = "INVOKE", target = "Ljava/util/Map;entrySet()Ljava/util/Set;", remap = false, ordinal = 0),
@@ -58,6 +74,26 @@ private void onReload(Map<Identifier, JsonElement> map, ResourceManager resource
 			Map<RecipeType<?>, ImmutableMap.Builder<Identifier, Recipe<?>>> builderMap,
 			ImmutableMap.Builder<Identifier, Recipe<?>> globalRecipeMapBuilder) {
 		RecipeManagerImpl.apply(map, builderMap, globalRecipeMapBuilder);
+		this.quilt$deserializedRecipes = RecipeManagerImpl.deserializeRecipes(map);
+	}
+
+	@Redirect(
+			method = "apply(Ljava/util/Map;Lnet/minecraft/resource/ResourceManager;Lnet/minecraft/util/profiler/Profiler;)V",
+			at = @At(
+					value = "INVOKE",
+					target = "Lnet/minecraft/recipe/RecipeManager;deserialize(Lnet/minecraft/util/Identifier;Lcom/google/gson/JsonObject;)Lnet/minecraft/recipe/Recipe;"
+			)
+	)
+	private Recipe<?> onDeserialize(Identifier id, JsonObject json) {
+		if (this.quilt$deserializedRecipes != null) {
+			var deserialized = this.quilt$deserializedRecipes.get(id);
+
+			if (deserialized != null) {
+				return deserialized.get();
+			}
+		}
+
+		return RecipeManager.deserialize(id, json);
 	}
 
 	/**
@@ -93,10 +129,49 @@ private void onReloadEnd(Map<Identifier, JsonElement> map, ResourceManager resou
 			CallbackInfo ci,
 			Map<RecipeType<?>, ImmutableMap.Builder<Identifier, Recipe<?>>> builderMap,
 			ImmutableMap.Builder<Identifier, Recipe<?>> globalRecipeMapBuilder) {
+		this.quilt$deserializedRecipes = null;
+
 		Map<Identifier, Recipe<?>> globalRecipes = ImmutableMapBuilderUtil.specialBuild(globalRecipeMapBuilder);
 
 		RecipeManagerImpl.applyModifications((RecipeManager) (Object) this, this.recipes, globalRecipes);
 
 		this.recipeFlatMap = Collections.unmodifiableMap(globalRecipes);
 	}
+
+	@Inject(
+			method = "getFirstMatch(Lnet/minecraft/recipe/RecipeType;Lnet/minecraft/inventory/Inventory;Lnet/minecraft/world/World;)Ljava/util/Optional;",
+			at = @At("HEAD"),
+			cancellable = true
+	)
+	private <C extends Inventory, T extends Recipe<C>> void onGetFirstMatch(RecipeType<T> type, C inventory, World world,
+			CallbackInfoReturnable<Optional<T>> cir) {
+		if (RecipeManagerImpl.INDEXED_LOOKUP) {
+			cir.setReturnValue(this.quilt$getRecipeIndex().getFirstMatch(type, inventory, world));
+		}
+	}
+
+	@Inject(
+			method = "getFirstMatch(Lnet/minecraft/recipe/RecipeType;Lnet/minecraft/inventory/Inventory;Lnet/minecraft/world/World;Lnet/minecraft/util/Identifier;)Ljava/util/Optional;",
+			at = @At("HEAD"),
+			cancellable = true
+	)
+	private <C extends Inventory, T extends Recipe<C>> void onGetFirstMatchWithId(RecipeType<T> type, C inventory, World world,
+			@Nullable Identifier id, CallbackInfoReturnable<Optional<Pair<Identifier, T>>> cir) {
+		if (RecipeManagerImpl.INDEXED_LOOKUP) {
+			cir.setReturnValue(this.quilt$getRecipeIndex().getFirstMatch(type, inventory, world, id));
+		}
+	}
+
+	@Override
+	public RecipeIndex quilt$getRecipeIndex() {
+		var index = this.quilt$recipeIndex;
+
+		// The recipe map is replaced on every reload and on every recipe synchronization.
+		if (index == null || !index.isFor(this.recipes)) {
+			index = new RecipeIndex(this.recipes);
+			this.quilt$recipeIndex = index;
+		}
+
+		return index;
+	}
 }
@@ -0,0 +1,257 @@
+/*
+ * Copyright 2023 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.recipe.test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import com.mojang.datafixers.util.Pair;
+import com.mojang.logging.LogUtils;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.inventory.CraftingInventory;
+import net.minecraft.inventory.Inventory;
+import net.minecraft.inventory.SimpleInventory;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.recipe.Ingredient;
+import net.minecraft.recipe.Recipe;
+import net.minecraft.recipe.RecipeManager;
+import net.minecraft.recipe.RecipeType;
+import net.minecraft.recipe.ShapedRecipe;
+import net.minecraft.screen.ScreenHandler;
+import net.minecraft.util.Identifier;
+import net.minecraft.world.World;
+
+import org.quiltmc.loader.api.ModContainer;
+import org.quiltmc.qsl.base.api.entrypoint.ModInitializer;
+import org.quiltmc.qsl.lifecycle.api.event.ServerLifecycleEvents;
+import org.quiltmc.qsl.recipe.impl.RecipeIndex;
+import org.quiltmc.qsl.recipe.impl.RecipeManagerExtensions;
+
+/**
+ * Checks that the ingredient index finds the same recipes as the vanilla lookup over the loaded crafting and smelting recipes.
+ */
+public class RecipeIndexTestMod implements ModInitializer {
+	private static final Logger LOGGER = LogUtils.getLogger();
+
+	@Override
+	public void onInitialize(ModContainer mod) {
+		ServerLifecycleEvents.READY.register(server -> {
+			var recipeManager = server.getRecipeManager();
+			var index = ((RecipeManagerExtensions) recipeManager).quilt$getRecipeIndex();
+			World world = server.getOverworld();
+			int checked = 0;
+
+			for (var inventory : createCraftingInventories(recipeManager)) {
+				assertSameMatch(recipeManager, index, RecipeType.CRAFTING, inventory, world);
+				checked++;
+			}
+
+			for (var inventory : createSmeltingInventories(recipeManager)) {
+				assertSameMatch(recipeManager, index, RecipeType.SMELTING, inventory, world);
+				checked++;
+			}
+
+			// A lookup made while another lookup is testing its candidates must not disturb it.
+			var outer = new ReentrantCraftingInventory(() -> {
+				var nested = createCraftingInventory(Items.OAK_PLANKS, null, null, Items.OAK_PLANKS);
+				assertSameMatch(recipeManager, index, RecipeType.CRAFTING, nested, world);
+			});
+			outer.setStack(0, new ItemStack(Items.COAL));
+			outer.setStack(3, new ItemStack(Items.STICK));
+			var expected = getVanillaFirstMatch(recipeManager, RecipeType.CRAFTING, outer, world, null).map(Pair::getSecond);
+			outer.armed = true;
+			var actual = index.getFirstMatch(RecipeType.CRAFTING, outer, world);
+
+			if (outer.armed) {
+				throw new AssertionError("The nested recipe lookup did not run.");
+			} else if (!expected.equals(actual)) {
+				throw new AssertionError("Indexed lookup with a nested lookup found " + actual.map(Recipe::getId)
+						+ " instead of " + expected.map(Recipe::getId) + ".");
+			}
+
+			LOGGER.info("Checked the indexed recipe lookup against {} inventories.", checked + 1);
+		});
+	}
+
+	private static List<Inventory> createCraftingInventories(RecipeManager recipeManager) {
+		var inventories = new ArrayList<Inventory>();
+
+		// Shaped recipes with empty slots, a shapeless recipe, a special recipe, an unmatched grid and an empty grid.
+		inventories.add(createCraftingInventory(Items.OAK_PLANKS, null, null, Items.OAK_PLANKS));
+		inventories.add(createCraftingInventory(null, Items.COAL, null, null, Items.STICK));
+		inventories.add(createCraftingInventory(Items.OAK_LOG));
+		inventories.add(createCraftingInventory(Items.LEATHER_HELMET, Items.RED_DYE));
+		inventories.add(createCraftingInventory(Items.DIRT, null, Items.DIAMOND));
+		inventories.add(createCraftingInventory());
+
+		// Then one grid made from the ingredients of every loaded crafting recipe.
+		for (var recipe : recipeManager.listAllOfType(RecipeType.CRAFTING)) {
+			var ingredients = recipe.getIngredients();
+
+			if (ingredients.isEmpty() || ingredients.size() > 9) {
+				continue;
+			}
+
+			var inventory = createCraftingInventory();
+			int width = recipe instanceof ShapedRecipe shaped ? shaped.getWidth() : 3;
+
+			for (int i = 0; i < ingredients.size(); i++) {
+				var stack = getFirstStack(ingredients.get(i));
+
+				if (!stack.isEmpty()) {
+					inventory.setStack(i % width + i / width * 3, stack);
+				}
+			}
+
+			inventories.add(inventory);
+		}
+
+		return inventories;
+	}
+
+	private static List<Inventory> createSmeltingInventories(RecipeManager recipeManager) {
+		var inventories = new ArrayList<Inventory>();
+		inventories.add(new SimpleInventory(ItemStack.EMPTY));
+		inventories.add(new SimpleInventory(new ItemStack(Items.DIAMOND_BLOCK)));
+
+		for (var recipe : recipeManager.listAllOfType(RecipeType.SMELTING)) {
+			inventories.add(new SimpleInventory(getFirstStack(recipe.getIngredients().get(0))));
+		}
+
+		return inventories;
+	}
+
+	private static CraftingInventory createCraftingInventory(@Nullable Item... items) {
+		var inventory = new CraftingInventory(new DummyScreenHandler(), 3, 3);
+
+		for (int i = 0; i < items.length; i++) {
+			if (items[i] != null) {
+				inventory.setStack(i, new ItemStack(items[i]));
+			}
+		}
+
+		return inventory;
+	}
+
+	private static ItemStack getFirstStack(Ingredient ingredient) {
+		var stacks = ingredient.getMatchingStacks();
+		return stacks.length == 0 ? ItemStack.EMPTY : stacks[0].copy();
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <C extends Inventory, T extends Recipe<C>> void assertSameMatch(RecipeManager recipeManager, RecipeIndex index,
+			RecipeType<T> type, Inventory inventory, World world) {
+		var vanilla = getVanillaFirstMatch(recipeManager, type, (C) inventory, world, null);
+		var indexed = index.getFirstMatch(type, (C) inventory, world);
+
+		if (!vanilla.map(Pair::getSecond).equals(indexed)) {
+			throw new AssertionError("Indexed lookup of " + describe(inventory) + " found " + indexed.map(Recipe::getId)
+					+ " instead of " + vanilla.map(Pair::getFirst) + ".");
+		}
+
+		// Also look up with the last matching recipe hint, either the expected recipe or one which doesn't match.
+		for (var hint : new Identifier[] { vanilla.map(Pair::getFirst).orElse(null), new Identifier("oak_planks") }) {
+			var vanillaWithId = getVanillaFirstMatch(recipeManager, type, (C) inventory, world, hint);
+			var indexedWithId = index.getFirstMatch(type, (C) inventory, world, hint);
+
+			if (!vanillaWithId.map(Pair::getFirst).equals(indexedWithId.map(Pair::getFirst))
+					|| !vanillaWithId.map(Pair::getSecond).equals(indexedWithId.map(Pair::getSecond))) {
+				throw new AssertionError("Indexed lookup of " + describe(inventory) + " with hint " + hint + " found "
+						+ indexedWithId.map(Pair::getFirst) + " instead of " + vanillaWithId.map(Pair::getFirst) + ".");
+			}
+		}
+	}
+
+	/**
+	 * Mirrors {@link RecipeManager#getFirstMatch(RecipeType, Inventory, World, Identifier)} without going through the index,
+	 * as the index may be enabled for the recipe manager itself.
+	 */
+	@SuppressWarnings("unchecked")
+	private static <C extends Inventory, T extends Recipe<C>> Optional<Pair<Identifier, T>> getVanillaFirstMatch(RecipeManager recipeManager,
+			RecipeType<T> type, C inventory, World world, @Nullable Identifier id) {
+		if (id != null) {
+			var recipe = recipeManager.get(id).filter(r -> r.getType() == type).orElse(null);
+
+			if (recipe != null && ((T) recipe).matches(inventory, world)) {
+				return Optional.of(Pair.of(id, (T) recipe));
+			}
+		}
+
+		for (var recipe : recipeManager.listAllOfType(type)) {
+			if (recipe.matches(inventory, world)) {
+				return Optional.of(Pair.of(recipe.getId(), recipe));
+			}
+		}
+
+		return Optional.empty();
+	}
+
+	private static String describe(Inventory inventory) {
+		var items = new ArrayList<String>();
+
+		for (int slot = 0; slot < inventory.size(); slot++) {
+			items.add(inventory.getStack(slot).isEmpty() ? "-" : inventory.getStack(slot).getItem().toString());
+		}
+
+		return items.toString();
+	}
+
+	private static class DummyScreenHandler extends ScreenHandler {
+		DummyScreenHandler() {
+			super(null, -1);
+		}
+
+		@Override
+		public ItemStack quickMove(PlayerEntity player, int slot) {
+			return ItemStack.EMPTY;
+		}
+
+		@Override
+		public boolean canUse(PlayerEntity player) {
+			return false;
+		}
+	}
+
+	/**
+	 * A crafting grid which runs another lookup the first time one of its stacks is read once armed.
+	 */
+	private static class ReentrantCraftingInventory extends CraftingInventory {
+		private final Runnable nestedLookup;
+		private boolean armed = false;
+
+		ReentrantCraftingInventory(Runnable nestedLookup) {
+			super(new DummyScreenHandler(), 3, 3);
+			this.nestedLookup = nestedLookup;
+		}
+
+		@Override
+		public ItemStack getStack(int slot) {
+			if (this.armed) {
+				this.armed = false;
+				this.nestedLookup.run();
+			}
+
+			return super.getStack(slot);
+		}
+	}
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2023 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.recipe.test;
+
+import java.util.HashSet;
+
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.recipe.RecipeType;
+import net.minecraft.util.Identifier;
+
+import org.quiltmc.loader.api.ModContainer;
+import org.quiltmc.qsl.base.api.entrypoint.ModInitializer;
+import org.quiltmc.qsl.recipe.api.RecipeManagerHelper;
+import org.quiltmc.qsl.recipe.api.builder.VanillaRecipeBuilders;
+
+/**
+ * Checks that {@code replaceAll} replaces recipes in place, moves recipes changing type, visits each recipe once,
+ * and rejects replacements with a different identifier.
+ */
+public class RecipeReplaceAllTestMod implements ModInitializer {
+	private static final Identifier SAME_TYPE_ID = new Identifier("stick");
+	private static final Identifier MOVED_ID = new Identifier("iron_nugget_from_smelting");
+
+	@Override
+	public void onInitialize(ModContainer mod) {
+		RecipeManagerHelper.modifyRecipes(handler -> {
+			var sameType = VanillaRecipeBuilders.shapelessRecipe(new ItemStack(Items.STICK, 8))
+					.ingredient(Items.BAMBOO)
+					.build(SAME_TYPE_ID, "");
+
+			handler.replaceAll(RecipeType.CRAFTING, recipe -> recipe.getId().equals(SAME_TYPE_ID) ? sameType : recipe);
+
+			if (handler.getRecipe(SAME_TYPE_ID, RecipeType.CRAFTING) != sameType) {
+				throw new AssertionError("replaceAll did not replace " + SAME_TYPE_ID + " in place");
+			}
+
+			var moved = VanillaRecipeBuilders.shapelessRecipe(new ItemStack(Items.IRON_NUGGET))
+					.ingredient(Items.IRON_INGOT)
+					.build(MOVED_ID, "");
+			int expectedVisits = handler.getRecipes().values().stream().mapToInt(recipes -> recipes.size()).sum();
+			var visited = new HashSet<Identifier>();
+
+			handler.replaceAll(recipe -> {
+				if (!visited.add(recipe.getId())) {
+					throw new AssertionError("replaceAll visited " + recipe.getId() + " twice");
+				}
+
+				return recipe.getId().equals(MOVED_ID) ? moved : recipe;
+			});
+
+			if (visited.size() != expectedVisits) {
+				throw new AssertionError("replaceAll visited " + visited.size() + " recipes instead of " + expectedVisits);
+			}
+
+			if (handler.getTypeOf(MOVED_ID) != RecipeType.CRAFTING || handler.getRecipe(MOVED_ID, RecipeType.CRAFTING) != moved
+					|| handler.contains(MOVED_ID, RecipeType.SMELTING)) {
+				throw new AssertionError("replaceAll did not move " + MOVED_ID + " to the crafting recipes");
+			}
+
+			try {
+				handler.replaceAll(RecipeType.CRAFTING, recipe -> recipe.getId().equals(SAME_TYPE_ID) ? moved : recipe);
+				throw new AssertionError("replaceAll accepted a replacement with a different identifier");
+			} catch (IllegalStateException e) {
+				// Expected.
+			}
+		});
+	}
+}
@@ -29,5 +29,6 @@
 	public void prepareReloadSource(ResourceType source) {
 		this.valueTagTable.rowKeySet().removeIf(attach -> attach.side().shouldLoad(source));
 		this.valueTable.rowKeySet().removeIf(attach -> attach.side().shouldLoad(source));
+		this.invalidateTagValues();
 	}
 }
@@ -18,6 +18,7 @@
 
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.google.common.collect.Table;
 import com.google.common.collect.Tables;
@@ -78,6 +79,23 @@ public static <R> BuiltinRegistryEntryAttachmentHolder<R> getBuiltin(Registry<R>
 		return holder;
 	}
 
+	/**
+	 * Invalidates the tag-based values resolved by the attachment holders of the given registry, called when its tags change.
+	 *
+	 * @param registry the registry
+	 */
+	public static <R> void invalidateTagValues(Registry<R> registry) {
+		var internals = getInternals(registry);
+
+		if (internals.quilt$getBuiltinAttachmentHolder() != null) {
+			internals.quilt$getBuiltinAttachmentHolder().invalidateTagValues();
+		}
+
+		if (internals.quilt$getDataAttachmentHolder() != null) {
+			internals.quilt$getDataAttachmentHolder().invalidateTagValues();
+		}
+	}
+
 	public static <R> DataRegistryEntryAttachmentHolder<R> getData(Registry<R> registry) {
 		var internals = getInternals(registry);
 		var holder = internals.quilt$getDataAttachmentHolder();
@@ -90,6 +108,10 @@ public static <R> DataRegistryEntryAttachmentHolder<R> getData(Registry<R> regis
 
 	public final Table<RegistryEntryAttachment<R, ?>, R, Object> valueTable;
 	public final Table<RegistryEntryAttachment<R, ?>, TagKey<R>, Object> valueTagTable;
+	/**
+	 * The values of {@link #valueTagTable} resolved for each entry of the tags, per attachment.
+	 */
+	private final Map<RegistryEntryAttachment<R, ?>, ResolvedTagValues> resolvedTagValues = new ConcurrentHashMap<>();
 
 	@SuppressWarnings("UnstableApiUsage")
 	protected RegistryEntryAttachmentHolder() {
@@ -100,21 +122,55 @@ protected RegistryEntryAttachmentHolder() {
 	@SuppressWarnings("unchecked")
 	public <V> V getValue(RegistryEntryAttachment<R, V> attachment, R entry) {
 		V value = (V) this.valueTable.get(attachment, entry); // Check for a direct value in valueTable
-		if (value == null) { // If there is no value, check the valueTagTable
-			Map<TagKey<R>, Object> row = this.valueTagTable.row(attachment);
-			for (Map.Entry<TagKey<R>, Object> tagValue : row.entrySet()) { // Loop over the tags
-				for (Holder<R> holder : attachment.registry().getTagOrEmpty(tagValue.getKey())) { // Loop over the holders in the tag
-					if (holder.value().equals(entry)) { // The holder matches the entry
-						if (value != null) { // Warn if two values pointing to the same entry are found.
-							Initializer.LOGGER.warn("Entry {} for registry {} already has attachment {} defined. Overriding with value from tag {}.",
-									attachment.registry().getId(entry),
-									attachment.registry().getKey().getValue(),
-									attachment.id(),
-									tagValue.getKey().id());
-						}
-
-						value = (V) tagValue.getValue();
-					}
+		if (value == null) { // If there is no value, check the values of the tags
+			value = (V) this.getTagValue(attachment, entry);
+		}
+
+		return value;
+	}
+
+	private @Nullable Object getTagValue(RegistryEntryAttachment<R, ?> attachment, R entry) {
+		var resolved = this.resolvedTagValues.computeIfAbsent(attachment, this::resolveTagValues);
+		if (resolved == ResolvedTagValues.EMPTY) {
+			return null;
+		}
+
+		int rawId = attachment.registry().getRawId(entry);
+		if (rawId < 0) {
+			// Entries foreign to the registry cannot be in its tags.
+			return null;
+		} else if (rawId >= resolved.entries().length) {
+			// The entry was registered after the values were resolved, which doesn't tell whether raw IDs changed.
+			return this.findTagValue(attachment, entry);
+		} else if (resolved.entries()[rawId] != entry) {
+			// Raw IDs changed since the values were resolved, for example due to registry sync.
+			this.resolvedTagValues.remove(attachment, resolved);
+			resolved = this.resolvedTagValues.computeIfAbsent(attachment, this::resolveTagValues);
+
+			if (rawId >= resolved.entries().length || resolved.entries()[rawId] != entry) {
+				return this.findTagValue(attachment, entry);
+			}
+		}
+
+		return resolved.values()[rawId];
+	}
+
+	/**
+	 * Finds the tag-based value of the given entry by looking through the tags of the attachment, without resolving them.
+	 *
+	 * @param attachment the attachment
+	 * @param entry      the entry
+	 * @return the value of the last tag of the attachment which contains the entry, or {@code null} if none do
+	 */
+	private @Nullable Object findTagValue(RegistryEntryAttachment<R, ?> attachment, R entry) {
+		var registry = attachment.registry();
+		Object value = null;
+
+		for (Map.Entry<TagKey<R>, Object> tagValue : this.valueTagTable.row(attachment).entrySet()) {
+			for (Holder<R> holder : registry.getTagOrEmpty(tagValue.getKey())) {
+				if (holder.value() == entry) {
+					value = tagValue.getValue();
+					break;
 				}
 			}
 		}
@@ -122,12 +178,69 @@ public <V> V getValue(RegistryEntryAttachment<R, V> attachment, R entry) {
 		return value;
 	}
 
+	private ResolvedTagValues resolveTagValues(RegistryEntryAttachment<R, ?> attachment) {
+		Map<TagKey<R>, Object> row = this.valueTagTable.row(attachment);
+		if (row.isEmpty()) {
+			return ResolvedTagValues.EMPTY;
+		}
+
+		var registry = attachment.registry();
+		int size = 0;
+		for (R entry : registry) {
+			size = Math.max(size, registry.getRawId(entry) + 1);
+		}
+
+		var entries = new Object[size];
+		for (R entry : registry) {
+			entries[registry.getRawId(entry)] = entry;
+		}
+
+		var values = new Object[size];
+		for (Map.Entry<TagKey<R>, Object> tagValue : row.entrySet()) { // Loop over the tags
+			for (Holder<R> holder : registry.getTagOrEmpty(tagValue.getKey())) { // Loop over the holders in the tag
+				int rawId = registry.getRawId(holder.value());
+				if (rawId < 0 || rawId >= size) {
+					continue;
+				}
+
+				if (values[rawId] != null) { // Warn if two values pointing to the same entry are found.
+					Initializer.LOGGER.warn("Entry {} for registry {} already has attachment {} defined. Overriding with value from tag {}.",
+							registry.getId(holder.value()),
+							registry.getKey().getValue(),
+							attachment.id(),
+							tagValue.getKey().id());
+				}
+
+				values[rawId] = tagValue.getValue();
+			}
+		}
+
+		return new ResolvedTagValues(entries, values);
+	}
+
+	/**
+	 * Invalidates the resolved tag-based values of every attachment.
+	 */
+	public void invalidateTagValues() {
+		this.resolvedTagValues.clear();
+	}
+
+	/**
+	 * Invalidates the resolved tag-based values of the given attachment.
+	 *
+	 * @param attachment the attachment
+	 */
+	public void invalidateTagValues(RegistryEntryAttachment<R, ?> attachment) {
+		this.resolvedTagValues.remove(attachment);
+	}
+
 	public <T> void putValue(RegistryEntryAttachment<R, T> attachment, R entry, T value) {
 		this.valueTable.put(attachment, entry, value);
 	}
 
 	public <T> void putValue(RegistryEntryAttachment<R, T> attachment, TagKey<R> tag, T value) {
 		this.valueTagTable.put(attachment, tag, value);
+		this.invalidateTagValues(attachment);
 	}
 
 	public boolean removeValue(RegistryEntryAttachment<R, ?> attachment, R entry) {
@@ -135,6 +248,21 @@ public boolean removeValue(RegistryEntryAttachment<R, ?> attachment, R entry) {
 	}
 
 	public boolean removeValue(RegistryEntryAttachment<R, ?> attachment, TagKey<R> tag) {
-		return this.valueTagTable.remove(attachment, tag) != null;
+		if (this.valueTagTable.remove(attachment, tag) != null) {
+			this.invalidateTagValues(attachment);
+			return true;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Represents the values of an attachment resolved from tags, indexed by the raw ID of the entries.
+	 *
+	 * @param entries the entries of the registry at the time of resolution, indexed by raw ID
+	 * @param values  the values of the entries, indexed by raw ID
+	 */
+	private record ResolvedTagValues(Object[] entries, Object[] values) {
+		static final ResolvedTagValues EMPTY = new ResolvedTagValues(new Object[0], new Object[0]);
 	}
 }
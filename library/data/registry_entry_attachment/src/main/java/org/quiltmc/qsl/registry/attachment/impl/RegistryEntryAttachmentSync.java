@@ -19,15 +19,13 @@
 import static org.quiltmc.qsl.registry.attachment.impl.Initializer.id;
 
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
 
-import it.unimi.dsi.fastutil.objects.Object2ReferenceOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
 import net.fabricmc.api.EnvType;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
 
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.network.ClientPlayNetworkHandler;
@@ -51,7 +49,23 @@
 import org.quiltmc.qsl.networking.api.ServerPlayNetworking;
 import org.quiltmc.qsl.networking.api.client.ClientPlayNetworking;
 import org.quiltmc.qsl.registry.attachment.api.RegistryEntryAttachment;
-
+import org.quiltmc.qsl.registry.impl.sync.SynchronizedRegistry;
+
+/**
+ * Synchronizes the data-driven values of the attachments available on both sides to the clients.
+ * <p>
+ * Each packet holds a chunk of the values of one attachment:
+ * <ul>
+ *     <li>a palette of the distinct values of the chunk, encoded once each with the codec of the attachment;</li>
+ *     <li>the entries with a value, followed by the index of their value in the palette;</li>
+ *     <li>the tags with a value, as identifiers followed by the index of their value in the palette.</li>
+ * </ul>
+ * Entries of registries synchronized by the registry sync are written as raw IDs, along with a checksum of their
+ * identifiers to detect mismatched registries. Other registries may have different raw IDs on the client,
+ * so their entries are written as identifiers.
+ * <p>
+ * The packets are encoded once per reload and shared by every player.
+ */
 @ApiStatus.Internal
 public final class RegistryEntryAttachmentSync {
 	/**
@@ -59,39 +73,21 @@ public final class RegistryEntryAttachmentSync {
 	 * <p>
 	 * This value should be updated whenever packet formats are changed.
 	 */
-	private static final byte PACKET_VERSION = 1;
+	private static final byte PACKET_VERSION = 2;
+	/**
+	 * The maximum number of values in a single packet, to stay well below the maximum payload size.
+	 */
+	private static final int MAX_VALUES_PER_PACKET = 4096;
 
 	private RegistryEntryAttachmentSync() {
 	}
 
 	public static final Identifier PACKET_ID = id("sync");
 
-	private record NamespaceValuePair(String namespace, Set<AttachmentEntry> entries) {
-	}
-
-	private record CacheEntry(Identifier registryId, Set<NamespaceValuePair> namespacesToValues) {
-	}
-
-	private record AttachmentEntry(String path, boolean isTag, NbtElement value) {
-		public void write(PacketByteBuf buf) {
-			buf.writeString(this.path);
-			buf.writeBoolean(this.isTag);
-
-			NbtCompound compound = new NbtCompound();
-			compound.put("value", this.value);
-			buf.writeNbt(compound);
-		}
-
-		public static AttachmentEntry read(PacketByteBuf buf) {
-			String path = buf.readString();
-			boolean isTag = buf.readBoolean();
-			NbtElement value = buf.readNbt().get("value");
-
-			return new AttachmentEntry(path, isTag, value);
-		}
-	}
-
-	public static final Map<Identifier, CacheEntry> ENCODED_VALUES_CACHE = new Object2ReferenceOpenHashMap<>();
+	/**
+	 * The sync packets encoded since the last reload, shared by every player.
+	 */
+	private static @Nullable List<PacketByteBuf> encodedPackets;
 
 	public static void register() {
 		ServerPlayConnectionEvents.JOIN.register(RegistryEntryAttachmentSync::syncAttachmentsToPlayer);
@@ -102,27 +98,19 @@ public static void registerClient() {
 		ClientPlayNetworking.registerGlobalReceiver(PACKET_ID, RegistryEntryAttachmentSync::receiveSyncPacket);
 	}
 
-	public static List<PacketByteBuf> createSyncPackets() {
-		fillEncodedValuesCache();
-		var bufs = new ArrayList<PacketByteBuf>();
-
-		for (var entry : ENCODED_VALUES_CACHE.entrySet()) {
-			for (var valueMap : entry.getValue().namespacesToValues()) {
-				var buf = PacketByteBufs.create();
-				buf.writeByte(PACKET_VERSION);
-				buf.writeIdentifier(entry.getValue().registryId());
-				buf.writeIdentifier(entry.getKey());
-				buf.writeString(valueMap.namespace());
-				buf.writeInt(valueMap.entries().size());
-				for (AttachmentEntry attachmentEntry : valueMap.entries()) {
-					attachmentEntry.write(buf);
-				}
-
-				bufs.add(buf);
-			}
+	/**
+	 * Gets the sync packets, encoding them if needed.
+	 * <p>
+	 * The returned buffers are shared, and must be sliced before being sent.
+	 *
+	 * @return the encoded sync packets
+	 */
+	public static synchronized List<PacketByteBuf> getSyncPackets() {
+		if (encodedPackets == null) {
+			encodedPackets = List.copyOf(encodeSyncPackets());
 		}
 
-		return bufs;
+		return encodedPackets;
 	}
 
 	public static void syncAttachmentsToAllPlayers() {
@@ -132,13 +120,20 @@ public static void syncAttachmentsToAllPlayers() {
 			return;
 		}
 
+		var players = new ArrayList<ServerPlayerEntity>();
 		for (var player : server.getPlayerManager().getPlayerList()) {
-			if (isPlayerLocal(player)) continue;
-
-			for (var buf : createSyncPackets()) {
-				ServerPlayNetworking.send(player, PACKET_ID, buf);
+			if (!isPlayerLocal(player)) {
+				players.add(player);
 			}
 		}
+
+		if (players.isEmpty()) {
+			return;
+		}
+
+		for (var buf : getSyncPackets()) {
+			ServerPlayNetworking.broadcast(players, PACKET_ID, PacketByteBufs.slice(buf));
+		}
 	}
 
 	private static boolean isPlayerLocal(ServerPlayerEntity player) {
@@ -149,15 +144,13 @@ private static boolean isPlayerLocal(ServerPlayerEntity player) {
 		return false;
 	}
 
-	public static void clearEncodedValuesCache() {
-		ENCODED_VALUES_CACHE.clear();
+	public static synchronized void clearEncodedValuesCache() {
+		encodedPackets = null;
 	}
 
 	@SuppressWarnings("unchecked")
-	private static void fillEncodedValuesCache() {
-		if (!ENCODED_VALUES_CACHE.isEmpty()) {
-			return;
-		}
+	private static List<PacketByteBuf> encodeSyncPackets() {
+		var packets = new ArrayList<PacketByteBuf>();
 
 		for (var registryEntry : Registries.REGISTRY.getEntries()) {
 			var registry = (Registry<Object>) registryEntry.getValue();
@@ -169,57 +162,99 @@ private static void fillEncodedValuesCache() {
 					continue;
 				}
 
-				// Namespace, Attachment
-				var encoded = new HashMap<String, Set<AttachmentEntry>>();
-				Map<Object, Object> entryValues = dataHolder.valueTable.rowMap().get(attachmentEntry.getValue());
-				if (entryValues != null) {
-					for (var valueEntry : entryValues.entrySet()) {
-						var entryId = registry.getId(valueEntry.getKey());
-						if (entryId == null) {
-							throw new IllegalStateException("Foreign object in data holder of attachment %s: %s"
-									.formatted(attachment.id(), valueEntry.getKey()));
-						}
-
-						encoded.computeIfAbsent(entryId.getNamespace(), id -> new HashSet<>()).add(
-								new AttachmentEntry(entryId.getPath(), false, attachment.codec()
-										.encodeStart(NbtOps.INSTANCE, valueEntry.getValue())
-										.getOrThrow(false, msg -> {
-											throw new IllegalStateException("Failed to encode value for attachment %s of registry entry %s: %s"
-													.formatted(attachment.id(), entryId, msg));
-										})
-								)
-						);
-					}
-				}
+				encodeAttachment(registry, attachment, dataHolder, packets);
+			}
+		}
 
-				Map<TagKey<Object>, Object> entryTagValues = dataHolder.valueTagTable.rowMap().get(attachmentEntry.getValue());
-				if (entryTagValues != null) {
-					for (var valueEntry : entryTagValues.entrySet()) {
-						encoded.computeIfAbsent(valueEntry.getKey().id().getNamespace(), id -> new HashSet<>()).add(
-								new AttachmentEntry(valueEntry.getKey().id().getPath(), true, attachment.codec()
-										.encodeStart(NbtOps.INSTANCE, valueEntry.getValue())
-										.getOrThrow(false, msg -> {
-											throw new IllegalStateException("Failed to encode value for attachment tag %s of registry %s: %s"
-													.formatted(attachment.id(), valueEntry.getKey().id(), msg));
-										})));
-					}
+		return packets;
+	}
+
+	/**
+	 * {@return {@code true} if the raw IDs of the given registry match between the server and its clients, or {@code false} otherwise}
+	 * <p>
+	 * This mirrors the registries the registry sync sends to the clients.
+	 *
+	 * @param registry the registry
+	 */
+	private static boolean hasSyncedRawIds(Registry<?> registry) {
+		return registry instanceof SynchronizedRegistry<?> synchronizedRegistry
+				&& synchronizedRegistry.quilt$requiresSyncing()
+				&& synchronizedRegistry.quilt$getContentStatus() != SynchronizedRegistry.Status.VANILLA;
+	}
+
+	private static void encodeAttachment(Registry<Object> registry, RegistryEntryAttachment<Object, Object> attachment,
+			RegistryEntryAttachmentHolder<Object> holder, List<PacketByteBuf> packets) {
+		boolean byRawId = hasSyncedRawIds(registry);
+		var entries = new ArrayList<>(holder.valueTable.row(attachment).entrySet());
+		var tags = new ArrayList<>(holder.valueTagTable.row(attachment).entrySet());
+		int entryIndex = 0;
+		int tagIndex = 0;
+
+		// At least one packet is sent per attachment, so the client clears values which were removed by the reload.
+		do {
+			int entryEnd = Math.min(entries.size(), entryIndex + MAX_VALUES_PER_PACKET);
+			int tagEnd = Math.min(tags.size(), tagIndex + MAX_VALUES_PER_PACKET - (entryEnd - entryIndex));
+			var palette = new Palette(attachment);
+
+			var buf = PacketByteBufs.create();
+			buf.writeByte(PACKET_VERSION);
+			buf.writeIdentifier(registry.getKey().getValue());
+			buf.writeIdentifier(attachment.id());
+			buf.writeBoolean(entryIndex == 0 && tagIndex == 0);
+			buf.writeBoolean(byRawId);
+
+			var body = PacketByteBufs.create();
+			body.writeVarInt(entryEnd - entryIndex);
+			int checksum = 0;
+			for (int i = entryIndex; i < entryEnd; i++) {
+				var entry = entries.get(i);
+				var entryId = registry.getId(entry.getKey());
+				if (entryId == null) {
+					throw new IllegalStateException("Foreign object in data holder of attachment %s: %s"
+							.formatted(attachment.id(), entry.getKey()));
 				}
 
-				var valueMaps = new HashSet<NamespaceValuePair>();
-				for (var namespaceEntry : encoded.entrySet()) {
-					valueMaps.add(new NamespaceValuePair(namespaceEntry.getKey(), namespaceEntry.getValue()));
+				if (byRawId) {
+					int rawId = registry.getRawId(entry.getKey());
+					body.writeVarInt(rawId);
+					checksum = updateChecksum(checksum, rawId, entryId);
+				} else {
+					body.writeIdentifier(entryId);
 				}
 
-				ENCODED_VALUES_CACHE.put(attachment.id(), new CacheEntry(attachment.registry().getKey().getValue(), valueMaps));
+				body.writeVarInt(palette.indexOf(entryId, entry.getValue()));
 			}
-		}
+
+			if (byRawId) {
+				body.writeInt(checksum);
+			}
+
+			body.writeVarInt(tagEnd - tagIndex);
+			for (int i = tagIndex; i < tagEnd; i++) {
+				var tag = tags.get(i);
+				body.writeIdentifier(tag.getKey().id());
+				body.writeVarInt(palette.indexOf(tag.getKey().id(), tag.getValue()));
+			}
+
+			buf.writeVarInt(palette.size());
+			buf.writeNbt(palette.values);
+			buf.writeBytes(body);
+
+			packets.add(buf);
+			entryIndex = entryEnd;
+			tagIndex = tagEnd;
+		} while (entryIndex < entries.size() || tagIndex < tags.size());
+	}
+
+	private static int updateChecksum(int checksum, int rawId, Identifier id) {
+		return 31 * (31 * checksum + rawId) + id.hashCode();
 	}
 
 	private static void syncAttachmentsToPlayer(ServerPlayNetworkHandler handler, PacketSender sender, MinecraftServer server) {
 		if (isPlayerLocal(handler.getPlayer())) return;
 
-		for (var buf : RegistryEntryAttachmentSync.createSyncPackets()) {
-			sender.sendPacket(RegistryEntryAttachmentSync.PACKET_ID, buf);
+		for (var buf : getSyncPackets()) {
+			sender.sendPacket(PACKET_ID, PacketByteBufs.slice(buf));
 		}
 	}
 
@@ -233,14 +268,37 @@ private static void receiveSyncPacket(MinecraftClient client, ClientPlayNetworkH
 
 		var registryId = buf.readIdentifier();
 		var attachmentId = buf.readIdentifier();
-		var namespace = buf.readString();
+		boolean clear = buf.readBoolean();
+		boolean byRawId = buf.readBoolean();
+
+		int paletteSize = buf.readVarInt();
+		var palette = buf.readNbt();
+		if (palette == null) {
+			throw new IllegalStateException("Missing value palette for attachment %s".formatted(attachmentId));
+		}
 
-		var size = buf.readInt();
-		var attachments = new HashSet<AttachmentEntry>();
+		int entryCount = buf.readVarInt();
+		var rawIds = byRawId ? new int[entryCount] : null;
+		var entryIds = byRawId ? null : new Identifier[entryCount];
+		var entryValues = new int[entryCount];
+		for (int i = 0; i < entryCount; i++) {
+			if (byRawId) {
+				rawIds[i] = buf.readVarInt();
+			} else {
+				entryIds[i] = buf.readIdentifier();
+			}
 
-		while (size > 0) {
-			attachments.add(AttachmentEntry.read(buf));
-			size--;
+			entryValues[i] = buf.readVarInt();
+		}
+
+		int checksum = byRawId ? buf.readInt() : 0;
+
+		int tagCount = buf.readVarInt();
+		var tagIds = new Identifier[tagCount];
+		var tagValues = new int[tagCount];
+		for (int i = 0; i < tagCount; i++) {
+			tagIds[i] = buf.readIdentifier();
+			tagValues[i] = buf.readVarInt();
 		}
 
 		client.execute(() -> {
@@ -254,31 +312,103 @@ private static void receiveSyncPacket(MinecraftClient client, ClientPlayNetworkH
 				throw new IllegalStateException("Unknown attachment %s for registry %s".formatted(attachmentId, registryId));
 			}
 
-			var holder = RegistryEntryAttachmentHolder.getData(registry);
-			holder.valueTable.row(attachment).clear();
-			holder.valueTagTable.row(attachment).clear();
+			var values = new Object[paletteSize];
+			for (int i = 0; i < paletteSize; i++) {
+				values[i] = attachment.codec()
+						.parse(NbtOps.INSTANCE, palette.get(Integer.toString(i)))
+						.getOrThrow(false, msg -> {
+							throw new IllegalStateException("Failed to decode value for attachment %s: %s"
+									.formatted(attachment.id(), msg));
+						});
+			}
 
-			for (AttachmentEntry attachmentEntry : attachments) {
-				var entryId = new Identifier(namespace, attachmentEntry.path);
+			var entries = new Object[entryCount];
+			if (byRawId) {
+				int localChecksum = 0;
+				for (int i = 0; i < entryCount; i++) {
+					entries[i] = registry.get(rawIds[i]);
+					var entryId = entries[i] == null ? null : registry.getId(entries[i]);
+					if (entryId == null) {
+						throw new IllegalStateException("Foreign raw ID %d in registry %s".formatted(rawIds[i], registryId));
+					}
+
+					localChecksum = updateChecksum(localChecksum, rawIds[i], entryId);
+				}
+
+				if (localChecksum != checksum) {
+					throw new IllegalStateException("Registry %s does not match the server's, cannot apply values of attachment %s"
+							.formatted(registryId, attachmentId));
+				}
+			} else {
+				for (int i = 0; i < entryCount; i++) {
+					if (!registry.containsId(entryIds[i])) {
+						throw new IllegalStateException("Foreign ID %s in registry %s".formatted(entryIds[i], registryId));
+					}
 
-				var registryObject = registry.get(entryId);
-				if (registryObject == null) {
-					throw new IllegalStateException("Foreign ID %s".formatted(entryId));
+					entries[i] = registry.get(entryIds[i]);
 				}
+			}
+
+			var holder = RegistryEntryAttachmentHolder.getData(registry);
+			if (clear) {
+				holder.valueTable.row(attachment).clear();
+				holder.valueTagTable.row(attachment).clear();
+				holder.invalidateTagValues(attachment);
+			}
+
+			for (int i = 0; i < entryCount; i++) {
+				holder.putValue(attachment, entries[i], values[entryValues[i]]);
+			}
 
-				var parsedValue = attachment.codec()
-						.parse(NbtOps.INSTANCE, attachmentEntry.value)
+			for (int i = 0; i < tagCount; i++) {
+				holder.putValue(attachment, TagKey.of(registry.getKey(), tagIds[i]), values[tagValues[i]]);
+			}
+		});
+	}
+
+	/**
+	 * Represents the distinct values of a sync packet, each encoded once.
+	 */
+	private static final class Palette {
+		private final RegistryEntryAttachment<Object, Object> attachment;
+		private final Reference2IntOpenHashMap<Object> indices = new Reference2IntOpenHashMap<>();
+		private final Object2IntOpenHashMap<NbtElement> encodedIndices = new Object2IntOpenHashMap<>();
+		private final NbtCompound values = new NbtCompound();
+
+		private Palette(RegistryEntryAttachment<Object, Object> attachment) {
+			this.attachment = attachment;
+			this.indices.defaultReturnValue(-1);
+			this.encodedIndices.defaultReturnValue(-1);
+		}
+
+		int indexOf(Identifier id, Object value) {
+			int index = this.indices.getInt(value);
+
+			if (index == -1) {
+				var encoded = this.attachment.codec()
+						.encodeStart(NbtOps.INSTANCE, value)
 						.getOrThrow(false, msg -> {
-							throw new IllegalStateException("Failed to decode value for attachment %s of registry entry %s: %s"
-									.formatted(attachment.id(), entryId, msg));
+							throw new IllegalStateException("Failed to encode value for attachment %s of %s: %s"
+									.formatted(this.attachment.id(), id, msg));
 						});
 
-				if (attachmentEntry.isTag) {
-					holder.putValue(attachment, TagKey.of(registry.getKey(), entryId), parsedValue);
-				} else {
-					holder.putValue(attachment, registryObject, parsedValue);
+				// Values which are not the same object may still be equal once encoded.
+				index = this.encodedIndices.getInt(encoded);
+
+				if (index == -1) {
+					index = this.size();
+					this.values.put(Integer.toString(index), encoded);
+					this.encodedIndices.put(encoded, index);
 				}
+
+				this.indices.put(value, index);
 			}
-		});
+
+			return index;
+		}
+
+		int size() {
+			return this.encodedIndices.size();
+		}
 	}
 }
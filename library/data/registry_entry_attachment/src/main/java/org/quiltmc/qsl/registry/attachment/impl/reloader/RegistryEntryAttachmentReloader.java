@@ -16,16 +16,20 @@
 
 package org.quiltmc.qsl.registry.attachment.impl.reloader;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 
 import com.mojang.logging.LogUtils;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 
 import net.minecraft.registry.Registries;
@@ -59,6 +63,7 @@ public static void register(ResourceType source) {
 	static final Logger LOGGER = LogUtils.getLogger();
 	private static final Identifier ID_DATA = new Identifier(Initializer.NAMESPACE, "data");
 	private static final Identifier ID_ASSETS = new Identifier(Initializer.NAMESPACE, "assets");
+	private static final String ATTACHMENTS_DIRECTORY = "attachments";
 
 	private final ResourceType source;
 	private final Identifier id;
@@ -82,35 +87,53 @@ private RegistryEntryAttachmentReloader(ResourceType source) {
 
 	@Override
 	public CompletableFuture<LoadedData> load(ResourceManager manager, Profiler profiler, Executor executor) {
-		return CompletableFuture.supplyAsync(() -> {
-			var attachDicts = new HashMap<RegistryEntryAttachment<?, ?>, AttachmentDictionary<?, ?>>();
+		return CompletableFuture.supplyAsync(() -> this.findResources(manager, profiler), executor)
+				.thenCompose(attachmentResources -> {
+					// Each attachment is parsed on its own, while the files of an attachment are still processed in order.
+					var futures = new ArrayList<CompletableFuture<AttachmentDictionary<?, ?>>>(attachmentResources.size());
+					for (var entry : attachmentResources.entrySet()) {
+						futures.add(CompletableFuture.supplyAsync(() -> this.processResources(entry.getKey(), entry.getValue()), executor));
+					}
+
+					return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).thenApply(unused -> {
+						var attachDicts = new LinkedHashMap<RegistryEntryAttachment<?, ?>, AttachmentDictionary<?, ?>>();
+						int i = 0;
+						for (var attachment : attachmentResources.keySet()) {
+							attachDicts.put(attachment, futures.get(i++).join());
+						}
+
+						return new LoadedData(attachDicts);
+					});
+				});
+	}
 
-			for (var entry : Registries.REGISTRY.getEntries()) {
-				Identifier registryId = entry.getKey().getValue();
-				String path = registryId.getNamespace() + "/" + registryId.getPath();
-				profiler.push(this.id + "/finding_resources/" + path);
-
-				Map<Identifier, List<Resource>> resources = manager.findAllResources("attachments/" + path,
-						s -> s.getPath().endsWith(".json"));
-				if (resources.isEmpty()) {
-					profiler.pop();
-					continue;
-				}
+	/**
+	 * Lists the attachment resources of every registry at once, and groups them by attachment.
+	 *
+	 * @param manager  the resource manager
+	 * @param profiler the profiler
+	 * @return the resources of each attachment, sorted by identifier
+	 */
+	private Map<RegistryEntryAttachment<?, ?>, List<Map.Entry<Identifier, List<Resource>>>> findResources(ResourceManager manager, Profiler profiler) {
+		profiler.push(this.id + "/finding_resources");
+
+		var registries = new HashMap<String, Registry<?>>();
+		for (var entry : Registries.REGISTRY.getEntries()) {
+			Identifier registryId = entry.getKey().getValue();
+			registries.put(registryId.getNamespace() + "/" + registryId.getPath(), entry.getValue());
+		}
 
-				Registry<?> registry = entry.getValue();
-				this.processResources(profiler, attachDicts, resources, registry);
+		// Sorted so the order in which the files of an attachment are processed does not depend on the listing.
+		Map<Identifier, List<Resource>> resources = new TreeMap<>(manager.findAllResources(ATTACHMENTS_DIRECTORY,
+				s -> s.getPath().endsWith(".json")));
+		var attachmentResources = new LinkedHashMap<RegistryEntryAttachment<?, ?>, List<Map.Entry<Identifier, List<Resource>>>>();
 
-				profiler.pop();
+		for (var entry : resources.entrySet()) {
+			Registry<?> registry = this.getRegistry(registries, entry.getKey());
+			if (registry == null) {
+				continue;
 			}
 
-			return new LoadedData(attachDicts);
-		}, executor);
-	}
-
-	private void processResources(Profiler profiler,
-			Map<RegistryEntryAttachment<?, ?>, AttachmentDictionary<?, ?>> attachDicts,
-			Map<Identifier, List<Resource>> resources, Registry<?> registry) {
-		for (var entry : resources.entrySet()) {
 			Identifier attachmentId = this.getAttachmentId(entry.getKey());
 			RegistryEntryAttachment<?, ?> attachment = RegistryEntryAttachmentHolder.getAttachment(registry, attachmentId);
 			if (attachment == null) {
@@ -124,13 +147,47 @@ private void processResources(Profiler profiler,
 				continue;
 			}
 
-			profiler.swap(this.id + "/processing_resources{" + entry + "," + attachmentId + "}");
+			attachmentResources.computeIfAbsent(attachment, a -> new ArrayList<>()).add(entry);
+		}
+
+		profiler.pop();
+		return attachmentResources;
+	}
+
+	// "<namespace>:attachments/<registry namespace>/<registry path>/<file_name>.json" gives the registry, for the longest matching registry path
+	private @Nullable Registry<?> getRegistry(Map<String, Registry<?>> registries, Identifier jsonId) {
+		String path = jsonId.getPath();
+		int lastSlash = path.lastIndexOf('/');
+		if (lastSlash <= ATTACHMENTS_DIRECTORY.length()) {
+			return null;
+		}
+
+		path = path.substring(ATTACHMENTS_DIRECTORY.length() + 1, lastSlash);
+
+		while (true) {
+			Registry<?> registry = registries.get(path);
+			if (registry != null) {
+				return registry;
+			}
+
+			lastSlash = path.lastIndexOf('/');
+			if (lastSlash == -1) {
+				return null;
+			}
+
+			path = path.substring(0, lastSlash);
+		}
+	}
 
-			AttachmentDictionary<?, ?> attachDict = attachDicts.computeIfAbsent(attachment, this::createAttachmentMap);
+	private AttachmentDictionary<?, ?> processResources(RegistryEntryAttachment<?, ?> attachment, List<Map.Entry<Identifier, List<Resource>>> resources) {
+		AttachmentDictionary<?, ?> attachDict = this.createAttachmentMap(attachment);
+		for (var entry : resources) {
 			for (var resource : entry.getValue()) {
 				attachDict.processResource(entry.getKey(), resource);
 			}
 		}
+
+		return attachDict;
 	}
 
 	private <R, V> AttachmentDictionary<R, V> createAttachmentMap(RegistryEntryAttachment<R, V> attachment) {
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2023 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.registry.attachment.mixin;
+
+import java.util.List;
+import java.util.Map;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+import net.minecraft.registry.Holder;
+import net.minecraft.registry.Registry;
+import net.minecraft.registry.SimpleRegistry;
+import net.minecraft.registry.tag.TagKey;
+
+import org.quiltmc.qsl.registry.attachment.impl.RegistryEntryAttachmentHolder;
+
+@Mixin(SimpleRegistry.class)
+public abstract class SimpleRegistryMixin<R> implements Registry<R> {
+	@Inject(method = "bindTags", at = @At("TAIL"))
+	private void onBindTags(Map<TagKey<R>, List<Holder<R>>> tags, CallbackInfo ci) {
+		RegistryEntryAttachmentHolder.invalidateTagValues(this);
+	}
+
+	@Inject(method = "clearTags", at = @At("TAIL"))
+	private void onClearTags(CallbackInfo ci) {
+		RegistryEntryAttachmentHolder.invalidateTagValues(this);
+	}
+}
@@ -72,6 +72,21 @@ public static <T> Collection<Holder<T>> getTag(TagKey<T> key) {
 		return TagRegistryImpl.getTag(key);
 	}
 
+	/**
+	 * Returns whether the currently populated tag of the corresponding tag key contains the given value.
+	 * <p>
+	 * Unlike checking the collection returned by {@link #getTag(TagKey)}, this takes constant time,
+	 * as the values of each tag are indexed when the tags are populated.
+	 *
+	 * @param key   the key
+	 * @param value the value
+	 * @param <T>   the type of the values held by the tag
+	 * @return {@code true} if the tag contains the value, or {@code false} otherwise
+	 */
+	public static <T> boolean contains(TagKey<T> key, T value) {
+		return TagRegistryImpl.contains(key, value);
+	}
+
 	/**
 	 * Represents a tag entry for iteration.
 	 *
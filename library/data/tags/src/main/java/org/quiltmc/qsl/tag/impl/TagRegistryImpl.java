@@ -21,10 +21,13 @@
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
 
 import net.minecraft.registry.Holder;
 import net.minecraft.registry.Registries;
@@ -41,7 +44,7 @@
 
 @ApiStatus.Internal
 public final class TagRegistryImpl implements ServerLifecycleEvents.Stopped {
-	private static final Map<TagKey<?>, Collection<Holder<?>>> TAGS = new Object2ObjectOpenHashMap<>();
+	private static final Map<RegistryKey<?>, RegistryTags> TAGS = new Object2ObjectOpenHashMap<>();
 
 	/**
 	 * Returns whether the given registry key is the key of a dynamic registry.
@@ -55,7 +58,26 @@ public static boolean isRegistryDynamic(RegistryKey<? extends Registry<?>> regis
 	}
 
 	public static void populateTags(Map<TagKey<?>, List<Holder<?>>> tags) {
-		TAGS.putAll(tags);
+		var byRegistry = new Object2ObjectOpenHashMap<RegistryKey<?>, Map<TagKey<?>, Collection<Holder<?>>>>();
+
+		for (var entry : tags.entrySet()) {
+			byRegistry.computeIfAbsent(entry.getKey().registry(), registry -> new Object2ObjectOpenHashMap<>())
+					.put(entry.getKey(), entry.getValue());
+		}
+
+		for (var entry : byRegistry.entrySet()) {
+			var previous = TAGS.get(entry.getKey());
+			Map<TagKey<?>, Collection<Holder<?>>> registryTags;
+
+			if (previous != null) {
+				registryTags = new Object2ObjectOpenHashMap<>(previous.tags());
+				registryTags.putAll(entry.getValue());
+			} else {
+				registryTags = entry.getValue();
+			}
+
+			TAGS.put(entry.getKey(), RegistryTags.of(registryTags));
+		}
 	}
 
 	public static void resetTags() {
@@ -67,7 +89,8 @@ public static <T> Collection<Holder<T>> getTag(TagKey<T> key) {
 		var type = ((QuiltTagKey<T>) (Object) key).type();
 
 		if (type.hasSync()) {
-			Collection<Holder<T>> tag = (Collection<Holder<T>>) (Object) TAGS.get(key);
+			var registryTags = TAGS.get(key.registry());
+			Collection<Holder<T>> tag = registryTags == null ? null : (Collection<Holder<T>>) (Object) registryTags.tags().get(key);
 
 			if (tag == null) {
 				if (type == TagType.CLIENT_FALLBACK) {
@@ -85,23 +108,93 @@ public static <T> Collection<Holder<T>> getTag(TagKey<T> key) {
 		return Collections.emptySet();
 	}
 
-	@SuppressWarnings("unchecked")
+	@SuppressWarnings({"unchecked", "RedundantCast"})
+	public static <T> boolean contains(TagKey<T> key, T value) {
+		var type = ((QuiltTagKey<T>) (Object) key).type();
+
+		if (type.hasSync()) {
+			var registryTags = TAGS.get(key.registry());
+			var membership = registryTags == null ? null : registryTags.memberships().get(key);
+
+			if (membership != null) {
+				return membership.contains(value);
+			} else if (type == TagType.CLIENT_FALLBACK) {
+				return ClientTagRegistryManager.get(key.registry()).isInFallbackTag(key, value);
+			}
+		} else if (type == TagType.CLIENT_ONLY) {
+			return ClientTagRegistryManager.get(key.registry()).isInClientTag(key, value);
+		}
+
+		return false;
+	}
+
+	/**
+	 * Indexes the values of the given tags.
+	 *
+	 * @param tags the tags to index
+	 * @param <K>  the type of the tag keys
+	 * @return the identity sets of the values of each tag
+	 */
+	public static <K> Map<K, Set<Object>> indexValues(Map<K, ? extends Collection<? extends Holder<?>>> tags) {
+		var memberships = new Object2ObjectOpenHashMap<K, Set<Object>>(tags.size());
+
+		for (var entry : tags.entrySet()) {
+			Set<Object> values = new ReferenceOpenHashSet<>(entry.getValue().size());
+
+			for (var holder : entry.getValue()) {
+				values.add(holder.value());
+			}
+
+			memberships.put(entry.getKey(), values);
+		}
+
+		return memberships;
+	}
+
 	public static <T> Stream<TagRegistry.TagValues<T>> streamTags(RegistryKey<? extends Registry<T>> registry) {
-		return TAGS.entrySet().stream()
-				.filter(entry -> entry.getKey().registry() == registry)
-				.map(entry -> new TagRegistry.TagValues<>((TagKey<T>) entry.getKey(), (Collection<Holder<T>>) (Object) entry.getValue()));
+		var registryTags = TAGS.get(registry);
+
+		if (registryTags == null) {
+			return Stream.empty();
+		}
+
+		return registryTags.stream();
 	}
 
-	@SuppressWarnings("unchecked")
 	public static <T> Stream<TagRegistry.TagValues<T>> streamTagsWithFallback(RegistryKey<? extends Registry<T>> registry) {
-		return Stream.concat(TAGS.entrySet().stream()
-						.filter(entry -> entry.getKey().registry() == registry)
-						.map(entry -> new TagRegistry.TagValues<>((TagKey<T>) entry.getKey(), (Collection<Holder<T>>) (Object) entry.getValue())),
-				ClientTagRegistryManager.get(registry).streamFallbackTags(entry -> !TAGS.containsKey(entry.getKey())));
+		var registryTags = TAGS.get(registry);
+
+		if (registryTags == null) {
+			return ClientTagRegistryManager.get(registry).streamFallbackTags(entry -> true);
+		}
+
+		return Stream.concat(registryTags.stream(),
+				ClientTagRegistryManager.get(registry).streamFallbackTags(entry -> !registryTags.tags().containsKey(entry.getKey())));
 	}
 
 	@Override
 	public void exitServer(MinecraftServer server) {
 		resetTags();
 	}
+
+	/**
+	 * Represents the populated tags of a registry, with an index of the values of each tag.
+	 * <p>
+	 * The index is an identity set of the values rather than of their raw IDs,
+	 * as raw IDs of static registries change when the client registry sync remaps them.
+	 *
+	 * @param tags        the tags of the registry
+	 * @param memberships the values of each tag of the registry
+	 */
+	private record RegistryTags(Map<TagKey<?>, Collection<Holder<?>>> tags, Map<TagKey<?>, Set<Object>> memberships) {
+		static RegistryTags of(Map<TagKey<?>, Collection<Holder<?>>> tags) {
+			return new RegistryTags(tags, indexValues(tags));
+		}
+
+		@SuppressWarnings("unchecked")
+		<T> Stream<TagRegistry.TagValues<T>> stream() {
+			return this.tags.entrySet().stream()
+					.map(entry -> new TagRegistry.TagValues<>((TagKey<T>) entry.getKey(), (Collection<Holder<T>>) (Object) entry.getValue()));
+		}
+	}
 }
@@ -24,6 +24,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.WeakHashMap;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
@@ -98,6 +99,10 @@
 	 * Represents the actual resolved client-only tags, which are only valid for the current in-game context.
 	 */
 	private Map<TagKey<T>, Collection<Holder<T>>> clientOnlyValues;
+	/**
+	 * The values of each client-only tag, indexed when the tags are applied.
+	 */
+	private Map<TagKey<T>, Set<Object>> clientOnlyMemberships = Map.of();
 	/**
 	 * Represents the serialized fallback tags, stored because the fallback values may change depending on the server's registries.
 	 */
@@ -106,6 +111,22 @@
 	 * Represents the actual resolved fallback tags, which are only for the current in-game context.
 	 */
 	private Map<TagKey<T>, Collection<Holder<T>>> fallbackValues;
+	/**
+	 * The values of each fallback tag, indexed when the tags are applied.
+	 */
+	private Map<TagKey<T>, Set<Object>> fallbackMemberships = Map.of();
+	/**
+	 * The version of the serialized tags, incremented whenever they change.
+	 */
+	private int contentVersion = 0;
+	/**
+	 * The state in which the client-only tags were last applied, to skip applying them again if nothing changed.
+	 */
+	private @Nullable AppliedState appliedClientTags;
+	/**
+	 * The state in which the fallback tags were last applied, to skip applying them again if nothing changed.
+	 */
+	private @Nullable AppliedState appliedFallbackTags;
 
 	@SuppressWarnings({"unchecked", "rawtypes"})
 	private ClientTagRegistryManager(RegistryKey<? extends Registry<T>> registryKey, String dataType) {
@@ -133,13 +154,29 @@ public Collection<Holder<T>> getClientTag(TagKey<T> key) {
 		return Collections.emptyList();
 	}
 
+	public boolean isInClientTag(TagKey<T> key, T value) {
+		var values = this.clientOnlyMemberships.get(key);
+		return values != null && values.contains(value);
+	}
+
 	public Stream<TagRegistry.TagValues<T>> streamClientTags() {
 		return this.clientOnlyValues.entrySet().stream().map(entry -> new TagRegistry.TagValues<>(entry.getKey(), entry.getValue()));
 	}
 
 	@ClientOnly
 	public void setSerializedTags(Map<Identifier, List<TagGroupLoader.EntryWithSource>> serializedTags) {
-		this.serializedTags = serializedTags;
+		if (this.serializedTags != serializedTags) {
+			this.serializedTags = serializedTags;
+			this.contentVersion++;
+		}
+
+		var state = this.getCurrentState();
+		if (state.isSameAs(this.appliedClientTags)) {
+			// The tags were already applied from the same serialized tags and registries.
+			return;
+		}
+
+		this.appliedClientTags = state;
 
 		if (this.status.isReady()) {
 			// Actually apply if the values are ready to be fetched.
@@ -153,6 +190,7 @@ public void setSerializedTags(Map<Identifier, List<TagGroupLoader.EntryWithSourc
 	@ClientOnly
 	private void applyTags(Map<Identifier, List<TagGroupLoader.EntryWithSource>> serializedTags) {
 		this.clientOnlyValues = this.buildDynamicGroup(serializedTags, TagType.CLIENT_ONLY);
+		this.clientOnlyMemberships = TagRegistryImpl.indexValues(this.clientOnlyValues);
 		this.bindTags(this.clientOnlyValues, (ref, tags) -> ((QuiltHolderReferenceHooks<T>) ref).quilt$setClientTags(tags));
 	}
 
@@ -164,6 +202,11 @@ public Collection<Holder<T>> getFallbackTag(TagKey<T> key) {
 		return Collections.emptySet();
 	}
 
+	public boolean isInFallbackTag(TagKey<T> key, T value) {
+		var values = this.fallbackMemberships.get(key);
+		return values != null && values.contains(value);
+	}
+
 	public Stream<TagRegistry.TagValues<T>> streamFallbackTags(Predicate<Map.Entry<TagKey<T>, Collection<Holder<T>>>> filter) {
 		return this.clientOnlyValues.entrySet().stream()
 				.filter(filter)
@@ -172,7 +215,18 @@ public Stream<TagRegistry.TagValues<T>> streamFallbackTags(Predicate<Map.Entry<T
 
 	@ClientOnly
 	public void setFallbackSerializedTags(Map<Identifier, List<TagGroupLoader.EntryWithSource>> serializedTags) {
-		this.fallbackSerializedTags = serializedTags;
+		if (this.fallbackSerializedTags != serializedTags) {
+			this.fallbackSerializedTags = serializedTags;
+			this.contentVersion++;
+		}
+
+		var state = this.getCurrentState();
+		if (state.isSameAs(this.appliedFallbackTags)) {
+			// The tags were already applied from the same serialized tags and registries.
+			return;
+		}
+
+		this.appliedFallbackTags = state;
 
 		if (this.status.isReady()) {
 			// Actually apply if the values are ready to be fetched.
@@ -186,9 +240,16 @@ public void setFallbackSerializedTags(Map<Identifier, List<TagGroupLoader.EntryW
 	@ClientOnly
 	private void applyFallbackTags(Map<Identifier, List<TagGroupLoader.EntryWithSource>> serializedTags) {
 		this.fallbackValues = this.buildDynamicGroup(serializedTags, TagType.CLIENT_FALLBACK);
+		this.fallbackMemberships = TagRegistryImpl.indexValues(this.fallbackValues);
 		this.bindTags(this.fallbackValues, (ref, tags) -> ((QuiltHolderReferenceHooks<T>) ref).quilt$setFallbackTags(tags));
 	}
 
+	private AppliedState getCurrentState() {
+		// The holders of static registries do not depend on the lookup provider.
+		var lookupProvider = TagRegistryImpl.isRegistryDynamic(this.registryKey) ? this.lookupProvider : null;
+		return new AppliedState(this.contentVersion, this.status.isReady(), lookupProvider);
+	}
+
 	@ClientOnly
 	public Map<Identifier, List<TagGroupLoader.EntryWithSource>> load(ResourceManager resourceManager) {
 		return this.loader.loadTags(resourceManager);
@@ -267,8 +328,8 @@ public void bindTags(Map<TagKey<T>, Collection<Holder<T>>> map, BiConsumer<Holde
 			return;
 		}
 
+		// Only the holders present in a tag get their own list, the others are bound to no tags.
 		var boundTags = new IdentityHashMap<Holder.Reference<T>, List<TagKey<T>>>();
-		registry.get().holders().forEach(reference -> boundTags.put(reference, new ArrayList<>()));
 
 		map.forEach((tagKey, tag) -> {
 			for (var holder : tag) {
@@ -280,6 +341,11 @@ public void bindTags(Map<TagKey<T>, Collection<Holder<T>>> map, BiConsumer<Holde
 			}
 		});
 
+		registry.get().holders().forEach(reference -> {
+			var tags = boundTags.remove(reference);
+			consumer.accept(reference, tags != null ? tags : List.of());
+		});
+
 		boundTags.forEach(consumer);
 	}
 
@@ -355,6 +421,20 @@ public Map<TagKey<T>, Collection<Holder<T>>> getTags() {
 		}
 	}
 
+	/**
+	 * Represents the inputs tags were applied with.
+	 *
+	 * @param contentVersion the version of the serialized tags
+	 * @param ready          {@code true} if the registry values were ready, or {@code false} otherwise
+	 * @param lookupProvider the lookup provider of the registry values, or {@code null} for static registries
+	 */
+	private record AppliedState(int contentVersion, boolean ready, @Nullable HolderLookup.Provider lookupProvider) {
+		boolean isSameAs(@Nullable AppliedState other) {
+			return other != null && this.contentVersion == other.contentVersion && this.ready == other.ready
+					&& this.lookupProvider == other.lookupProvider;
+		}
+	}
+
 	private abstract class RegistryFetcher implements Function<Identifier, Optional<? extends Holder<T>>> {
 	}
 